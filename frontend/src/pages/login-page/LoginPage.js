@@ -18,31 +18,29 @@ const LoginPage = () => {
 
     const handleLogin = async () => {
         try {
-            const response = await fetch("http://localhost:8080/api/user", {
-                method: "GET",
+            const response = await fetch("http://localhost:8080/api/auth/login", {
+                method: "POST",
                 headers: {
                     "Content-Type": "application/json",
                 },
+                body: JSON.stringify(loginData),
             });
 
+            if (response.status === 401) {
+                console.log("Błędne dane logowania");
+                return;
+            }
+
             if (!response.ok) {
                 throw new Error("Network response was not ok");
             }
 
-            const users = await response.json();
+            const session = await response.json();
 
-            const matchingUser = users.find(
-                (user) =>
-                    user.email === loginData.email && user.password === loginData.password
-            );
-
-            if (matchingUser) {
-                console.log("Zalogowano pomyślnie:", matchingUser);
-                localStorage.setItem("userId", matchingUser.id);
-                navigate('Posts')
-            } else {
-                console.log("Błędne dane logowania");
-            }
+            console.log("Zalogowano pomyślnie:", session.userId);
+            localStorage.setItem("userId", session.userId);
+            localStorage.setItem("sessionToken", session.token);
+            navigate('Posts')
         } catch (error) {
             console.error("Błąd podczas logowania:", error.message);
         }
@@ -0,0 +1,48 @@
+package project.eepw.softwaretestingcrud.application;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import project.eepw.softwaretestingcrud.domain.auth.data.AuthenticationService;
+import project.eepw.softwaretestingcrud.domain.auth.dto.LoginRequestDTO;
+import project.eepw.softwaretestingcrud.domain.auth.dto.SessionDTO;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/auth")
+@Validated
+@Slf4j
+class AuthenticationController {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final AuthenticationService authenticationService;
+
+	@PostMapping("/login")
+	public SessionDTO login(
+		@RequestBody @Valid LoginRequestDTO loginRequestDTO
+	) {
+		return authenticationService.login(loginRequestDTO);
+	}
+
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(
+		@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization
+	) {
+		if (authorization.startsWith(BEARER_PREFIX)) {
+			authenticationService.logout(
+				authorization.substring(BEARER_PREFIX.length())
+			);
+		}
+
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -1,58 +1,181 @@
 package project.eepw.softwaretestingcrud.application;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.eepw.softwaretestingcrud.domain.comment.data.CommentService;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentAcceptedDTO;
 import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
 import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentSearchHit;
+import project.eepw.softwaretestingcrud.domain.comment.dto.NormalizedCommentsDTO;
 import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
+import project.eepw.softwaretestingcrud.domain.comment.helper.CommentDTOMapper;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchProperties;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
+import project.eepw.softwaretestingcrud.infrastructure.http.EntityTags;
+import project.eepw.softwaretestingcrud.infrastructure.http.Preferences;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
+import project.eepw.softwaretestingcrud.infrastructure.listing.KeysetLinks;
+import project.eepw.softwaretestingcrud.infrastructure.listing.KeysetStreamer;
+import project.eepw.softwaretestingcrud.infrastructure.listing.ListingProperties;
+import project.eepw.softwaretestingcrud.infrastructure.search.FullTextSearch;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/comment")
+@Validated
 @Slf4j
 class CommentController {
 
 	private final CommentService commentService;
+	private final BatchProperties batchProperties;
+	private final ListingProperties listingProperties;
+	private final KeysetStreamer keysetStreamer;
+	private final FullTextSearch fullTextSearch;
+
+	@GetMapping("/search")
+	public Page<CommentSearchHit> searchComments(
+		@RequestParam @NotBlank String query,
+		@RequestParam(defaultValue = "0") @Min(0) int page,
+		@RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+	) {
+		fullTextSearch.checkSupported();
+
+		return commentService.searchComments(query, PageRequest.of(page, size));
+	}
+
+	@GetMapping("/batch")
+	public BatchResultDTO<CommentDTO> getCommentsByIds(
+		@RequestParam @NotEmpty List<Long> ids
+	) {
+		batchProperties.checkSize(ids);
+
+		return commentService.getCommentDTOsByIds(ids);
+	}
 
 	@GetMapping("/{postId}")
 	public ResponseEntity<Collection<CommentDTO>> handleSearchCommentsByPostId(
-		@PathVariable Long postId
+		@PathVariable Long postId,
+		WebRequest webRequest
 	) {
+		VersionStamp postCommentsStamp = commentService.getPostCommentsVersionStamp(
+			postId
+		);
+		if (webRequest.checkNotModified(EntityTags.ofCollection(postCommentsStamp))) {
+			return null;
+		}
+
 		return new ResponseEntity<>(
-			commentService.getCommentsAttachedToPost(postId),
+			commentService.getCommentsAttachedToPost(postId, postCommentsStamp),
 			HttpStatus.OK
 		);
 	}
 
-	@GetMapping
-	public ResponseEntity<Collection<Comment>> getAllComments() {
+	@GetMapping("/{postId}/normalized")
+	public ResponseEntity<NormalizedCommentsDTO> handleSearchNormalizedCommentsByPostId(
+		@PathVariable Long postId,
+		WebRequest webRequest
+	) {
+		String postCommentsTag = EntityTags.ofCollection(
+			commentService.getPostCommentsVersionStamp(postId)
+		);
+		if (webRequest.checkNotModified(postCommentsTag)) {
+			return null;
+		}
+
 		return new ResponseEntity<>(
-			commentService.getAllCommentsDTOs(),
+			commentService.getNormalizedCommentsAttachedToPost(postId),
 			HttpStatus.OK
 		);
 	}
 
+	@GetMapping("/normalized")
+	public ResponseEntity<NormalizedCommentsDTO> getAllNormalizedComments(
+		@RequestParam(defaultValue = "0") @Min(0) long after,
+		@RequestParam(required = false) @Min(1) Integer limit
+	) {
+		return KeysetLinks.ofSlice(
+			commentService.getCommentsWithAuthorAndPostAfter(
+				after,
+				listingProperties.limit(limit)
+			),
+			Comment::getId,
+			CommentDTOMapper::toNormalizedDto
+		);
+	}
+
+	@GetMapping
+	public ResponseEntity<List<Comment>> getAllComments(
+		@RequestParam(defaultValue = "0") @Min(0) long after,
+		@RequestParam(required = false) @Min(1) Integer limit
+	) {
+		return KeysetLinks.ofSlice(
+			commentService.getCommentsAfter(after, listingProperties.limit(limit)),
+			Comment::getId
+		);
+	}
+
+	@GetMapping(produces = KeysetStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllComments(
+		@RequestParam(defaultValue = "0") @Min(0) long after
+	) {
+		return keysetStreamer.ndjson(
+			after,
+			commentService::getCommentsAfter,
+			Comment::getId
+		);
+	}
+
 	@PostMapping
-	public ResponseEntity<Comment> handleCreationOfComment(
-		@RequestBody CommentCreationDTO commentCreationDTO
+	public ResponseEntity<?> handleCreationOfComment(
+		@RequestBody @Valid CommentCreationDTO commentCreationDTO,
+		@RequestHeader(
+			value = Preferences.PREFER,
+			required = false
+		) List<String> preferHeaders
 	) {
+		if (Preferences.contains(preferHeaders, Preferences.RESPOND_ASYNC)) {
+			return acceptCreationOfComment(commentCreationDTO);
+		}
+
 		return new ResponseEntity<>(
 			commentService.saveNewCommentToPost(commentCreationDTO),
 			HttpStatus.CREATED
 		);
 	}
 
+	private ResponseEntity<CommentAcceptedDTO> acceptCreationOfComment(
+		CommentCreationDTO commentCreationDTO
+	) {
+		return ResponseEntity
+			.accepted()
+			.header(Preferences.PREFERENCE_APPLIED, Preferences.RESPOND_ASYNC)
+			.body(commentService.acceptNewCommentToPost(commentCreationDTO));
+	}
+
 	@DeleteMapping("/{commentId}")
 	public ResponseEntity<Void> handleDeletionOfComment(
 		@PathVariable Long commentId
@@ -1,9 +1,18 @@
 package project.eepw.softwaretestingcrud.application;
 
-import java.util.Collection;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +20,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.eepw.softwaretestingcrud.domain.post.data.PostService;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostSearchHit;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostVersionDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchProperties;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
+import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.http.EntityTags;
+import project.eepw.softwaretestingcrud.infrastructure.listing.KeysetLinks;
+import project.eepw.softwaretestingcrud.infrastructure.listing.KeysetStreamer;
+import project.eepw.softwaretestingcrud.infrastructure.listing.ListingProperties;
+import project.eepw.softwaretestingcrud.infrastructure.search.FullTextSearch;
 
 @RestController
 @RequiredArgsConstructor
@@ -26,20 +50,109 @@ import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
 class PostController {
 
 	private final PostService postService;
+	private final UserService userService;
+	private final BatchProperties batchProperties;
+	private final ListingProperties listingProperties;
+	private final KeysetStreamer keysetStreamer;
+	private final FullTextSearch fullTextSearch;
 
 	@GetMapping
-	public Collection<PostDTO> getAllPosts() {
-		return postService.getAllPosts();
+	public ResponseEntity<List<PostDTO>> getAllPosts(
+		@RequestParam(defaultValue = "0") @Min(0) long after,
+		@RequestParam(required = false) @Min(1) Integer limit
+	) {
+		return KeysetLinks.ofSlice(
+			postService.getPostsAfter(after, listingProperties.limit(limit)),
+			PostDTO::getId
+		);
+	}
+
+	@GetMapping(produces = KeysetStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllPosts(
+		@RequestParam(defaultValue = "0") @Min(0) long after
+	) {
+		return keysetStreamer.ndjson(
+			after,
+			postService::getPostsAfter,
+			PostDTO::getId
+		);
+	}
+
+	@GetMapping("/search")
+	public Page<PostSearchHit> searchPosts(
+		@RequestParam @NotBlank String query,
+		@RequestParam(defaultValue = "0") @Min(0) int page,
+		@RequestParam(defaultValue = "20") @Min(1) @Max(100) int size
+	) {
+		fullTextSearch.checkSupported();
+
+		return postService.searchPosts(query, PageRequest.of(page, size));
+	}
+
+	@GetMapping("/batch")
+	public BatchResultDTO<PostDTO> getPostsByIds(
+		@RequestParam @NotEmpty List<Long> ids
+	) {
+		batchProperties.checkSize(ids);
+
+		return postService.getPostDTOsByIds(ids);
 	}
 
 	@GetMapping("/{id}")
-	public PostDTO getPostById(@PathVariable Long id) {
-		return postService.getPostDTOById(id);
+	public PostDTO getPostById(@PathVariable Long id, WebRequest webRequest) {
+		PostVersionDTO postVersion = postService.getPostVersion(id);
+		String postTag = EntityTags.ofVersion(
+			postVersion.version(),
+			postVersion.commentCount()
+		);
+		if (webRequest.checkNotModified(postTag)) {
+			return null;
+		}
+
+		return postService.getPostDTOById(id, postVersion);
 	}
 
 	@GetMapping("/user/{userId}")
-	public Collection<PostDTO> getAllUserPosts(@PathVariable Long userId) {
-		return postService.getAllUserPosts(userId);
+	public ResponseEntity<List<PostDTO>> getAllUserPosts(
+		@PathVariable Long userId,
+		@RequestParam(defaultValue = "0") @Min(0) long after,
+		@RequestParam(required = false) @Min(1) Integer limit,
+		WebRequest webRequest
+	) {
+		String userPostsTag = EntityTags.ofCollection(
+			postService.getUserPostsVersionStamp(userId)
+		);
+		if (webRequest.checkNotModified(userPostsTag)) {
+			return null;
+		}
+
+		return KeysetLinks.ofSlice(
+			postService.getUserPostsAfter(
+				userId,
+				after,
+				listingProperties.limit(limit)
+			),
+			PostDTO::getId
+		);
+	}
+
+	@GetMapping(
+		value = "/user/{userId}",
+		produces = KeysetStreamer.APPLICATION_NDJSON_VALUE
+	)
+	public ResponseEntity<StreamingResponseBody> streamAllUserPosts(
+		@PathVariable Long userId,
+		@RequestParam(defaultValue = "0") @Min(0) long after
+	) {
+		if (!userService.existsById(userId)) {
+			throw new UserNotFoundException("User has not been found");
+		}
+
+		return keysetStreamer.ndjson(
+			after,
+			(afterId, limit) -> postService.getUserPostsAfter(userId, afterId, limit),
+			PostDTO::getId
+		);
 	}
 
 	@DeleteMapping("/{postId}")
@@ -50,17 +163,32 @@ class PostController {
 	@PostMapping("/user/{userId}")
 	@ResponseStatus(HttpStatus.CREATED)
 	public PostDTO createPost(
-		@RequestBody PostCreationDTO postCreationDTO,
+		@RequestBody @Valid PostCreationDTO postCreationDTO,
 		@PathVariable Long userId
 	) {
 		return postService.createPost(postCreationDTO, userId);
 	}
 
 	@PutMapping("/user/{userId}")
-	public PostDTO updatePostById(
-		@RequestBody PostDTO modifiedPost,
-		@PathVariable Long userId
+	public ResponseEntity<PostDTO> updatePostById(
+		@RequestBody @Valid PostDTO modifiedPost,
+		@PathVariable Long userId,
+		@RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		return postService.updatePost(modifiedPost, userId);
+		PostDTO updatedPost = postService.updatePost(
+			modifiedPost,
+			userId,
+			EntityTags.parseVersion(ifMatch)
+		);
+
+		return ResponseEntity
+			.ok()
+			.eTag(
+				EntityTags.ofVersion(
+					updatedPost.getVersion(),
+					updatedPost.getCommentCount()
+				)
+			)
+			.body(updatedPost);
 	}
 }
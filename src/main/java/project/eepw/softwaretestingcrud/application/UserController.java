@@ -1,8 +1,13 @@
 package project.eepw.softwaretestingcrud.application;
 
-import java.util.Collection;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,8 +18,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserListingDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserSummaryDTO;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchProperties;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
+import project.eepw.softwaretestingcrud.infrastructure.listing.KeysetLinks;
+import project.eepw.softwaretestingcrud.infrastructure.listing.KeysetStreamer;
+import project.eepw.softwaretestingcrud.infrastructure.listing.ListingProperties;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,10 +37,39 @@ import project.eepw.softwaretestingcrud.domain.user.entity.User;
 class UserController {
 
 	private final UserService userService;
+	private final BatchProperties batchProperties;
+	private final ListingProperties listingProperties;
+	private final KeysetStreamer keysetStreamer;
 
 	@GetMapping("")
-	public Collection<User> getAllUsers() {
-		return userService.getAllUsers();
+	public ResponseEntity<List<UserListingDTO>> getAllUsers(
+		@RequestParam(defaultValue = "0") @Min(0) long after,
+		@RequestParam(required = false) @Min(1) Integer limit
+	) {
+		return KeysetLinks.ofSlice(
+			userService.getUsersAfter(after, listingProperties.limit(limit)),
+			UserListingDTO::id
+		);
+	}
+
+	@GetMapping(value = "", produces = KeysetStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllUsers(
+		@RequestParam(defaultValue = "0") @Min(0) long after
+	) {
+		return keysetStreamer.ndjson(
+			after,
+			userService::getUsersAfter,
+			UserListingDTO::id
+		);
+	}
+
+	@GetMapping("/batch")
+	public BatchResultDTO<User> getUsersByIds(
+		@RequestParam @NotEmpty List<Long> ids
+	) {
+		batchProperties.checkSize(ids);
+
+		return userService.getUsersByIds(ids);
 	}
 
 	@GetMapping("/{id}")
@@ -35,13 +77,27 @@ class UserController {
 		return userService.getUserById(id);
 	}
 
+	@GetMapping("/{id}/summary")
+	public UserSummaryDTO getUserSummary(@PathVariable Long id) {
+		return userService.getUserSummary(id);
+	}
+
+	@GetMapping("/summary")
+	public List<UserSummaryDTO> getUserSummaries(
+		@RequestParam @NotEmpty Set<Long> ids
+	) {
+		batchProperties.checkSize(ids);
+
+		return userService.getUserSummaries(ids);
+	}
+
 	@PutMapping("/{id}")
-	public User updateUserById(@RequestBody User user) {
+	public User updateUserById(@RequestBody @Valid User user) {
 		return userService.updateUser(user);
 	}
 
 	@PostMapping("/create-user")
-	public User createUser(@RequestBody User user) {
+	public User createUser(@RequestBody @Valid User user) {
 		return userService.createUser(user);
 	}
 
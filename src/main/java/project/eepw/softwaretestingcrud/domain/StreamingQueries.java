@@ -0,0 +1,15 @@
+package project.eepw.softwaretestingcrud.domain;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StreamingQueries {
+
+	/**
+	 * Rows per round trip of the repository stream methods, used as their fetch
+	 * size hint. Inside a transaction on PostgreSQL it turns the query into a
+	 * server-side cursor instead of a fully buffered result set.
+	 */
+	public static final String FETCH_SIZE = "1000";
+}
@@ -0,0 +1,63 @@
+package project.eepw.softwaretestingcrud.domain.auth.data;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import project.eepw.softwaretestingcrud.domain.auth.data.SessionTokens.IssuedToken;
+import project.eepw.softwaretestingcrud.domain.auth.dto.LoginRequestDTO;
+import project.eepw.softwaretestingcrud.domain.auth.dto.SessionDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserCredentialsDTO;
+import project.eepw.softwaretestingcrud.infrastructure.exception.InvalidCredentialsException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthenticationService {
+
+	private final UserService userService;
+	private final SessionTokens sessionTokens;
+
+	/**
+	 * Looks the user up through the email index and compares the password in
+	 * constant time; unknown email and wrong password are not told apart.
+	 */
+	public SessionDTO login(LoginRequestDTO loginRequestDTO) {
+		byte[] password = loginRequestDTO
+			.password()
+			.getBytes(StandardCharsets.UTF_8);
+		Long userId = userService
+			.getCredentialsByEmail(loginRequestDTO.email())
+			.stream()
+			.filter(credentials ->
+				MessageDigest.isEqual(
+					credentials.password().getBytes(StandardCharsets.UTF_8),
+					password
+				)
+			)
+			.map(UserCredentialsDTO::id)
+			.findFirst()
+			.orElseThrow(() ->
+				new InvalidCredentialsException("Email or password is incorrect")
+			);
+		log.debug("User with id=[{}] logged in", userId);
+		IssuedToken issuedToken = sessionTokens.issue(userId);
+
+		return new SessionDTO(
+			userId,
+			issuedToken.token(),
+			issuedToken.expiresAt()
+		);
+	}
+
+	public Optional<Long> getUserIdOfSession(String token) {
+		return sessionTokens.verify(token);
+	}
+
+	public void logout(String token) {
+		sessionTokens.revoke(token);
+	}
+}
@@ -0,0 +1,168 @@
+package project.eepw.softwaretestingcrud.domain.auth.data;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Self-contained session tokens 'userId.expiresAt.tokenId.signature', signed
+ * with HMAC-SHA256, so resolving the caller needs neither the database nor a
+ * shared session store. Verified tokens are kept in a bounded LRU cache, a
+ * repeated request costs one cache lookup instead of a MAC. Revoked token
+ * ids are kept in memory until the tokens would have expired anyway.
+ */
+@Component
+@Slf4j
+class SessionTokens {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final int SECRET_BYTES = 32;
+	private static final int TOKEN_ID_BYTES = 12;
+	private static final Base64.Encoder ENCODER = Base64
+		.getUrlEncoder()
+		.withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecureRandom secureRandom = new SecureRandom();
+	private final ThreadLocal<Mac> macs;
+	private final Duration sessionTtl;
+	private final Cache<String, VerifiedToken> verifiedTokens;
+	private final Cache<String, Boolean> revokedTokenIds;
+
+	SessionTokens(
+		@Value("${app.auth.session-ttl:PT12H}") Duration sessionTtl,
+		@Value("${app.auth.token-secret:}") String tokenSecret,
+		@Value("${app.auth.verified-tokens.max-size:10000}") long maxVerifiedTokens
+	) {
+		SecretKeySpec key = new SecretKeySpec(secretOf(tokenSecret), ALGORITHM);
+		this.macs =
+			ThreadLocal.withInitial(() -> {
+				try {
+					Mac mac = Mac.getInstance(ALGORITHM);
+					mac.init(key);
+					return mac;
+				} catch (GeneralSecurityException exception) {
+					throw new IllegalStateException(exception);
+				}
+			});
+		this.sessionTtl = sessionTtl;
+		this.verifiedTokens =
+			Caffeine
+				.newBuilder()
+				.maximumSize(maxVerifiedTokens)
+				.expireAfterWrite(sessionTtl)
+				.build();
+		this.revokedTokenIds =
+			Caffeine.newBuilder().expireAfterWrite(sessionTtl).build();
+	}
+
+	IssuedToken issue(Long userId) {
+		Instant expiresAt = Instant
+			.now()
+			.plus(sessionTtl)
+			.truncatedTo(ChronoUnit.SECONDS);
+		byte[] tokenId = new byte[TOKEN_ID_BYTES];
+		secureRandom.nextBytes(tokenId);
+		String payload = String.join(
+			".",
+			String.valueOf(userId),
+			String.valueOf(expiresAt.getEpochSecond()),
+			ENCODER.encodeToString(tokenId)
+		);
+
+		return new IssuedToken(
+			payload + '.' + ENCODER.encodeToString(sign(payload)),
+			expiresAt
+		);
+	}
+
+	Optional<Long> verify(String token) {
+		VerifiedToken verifiedToken = verifiedTokens.getIfPresent(token);
+		if (verifiedToken == null) {
+			verifiedToken = parse(token);
+			if (verifiedToken == null) {
+				return Optional.empty();
+			}
+			verifiedTokens.put(token, verifiedToken);
+		}
+
+		if (
+			verifiedToken.expiresAt() <= Instant.now().getEpochSecond() ||
+			revokedTokenIds.getIfPresent(verifiedToken.tokenId()) != null
+		) {
+			return Optional.empty();
+		}
+
+		return Optional.of(verifiedToken.userId());
+	}
+
+	void revoke(String token) {
+		VerifiedToken verifiedToken = parse(token);
+		if (verifiedToken != null) {
+			revokedTokenIds.put(verifiedToken.tokenId(), Boolean.TRUE);
+			verifiedTokens.invalidate(token);
+		}
+	}
+
+	private VerifiedToken parse(String token) {
+		int signatureStart = token.lastIndexOf('.');
+		if (signatureStart < 0) {
+			return null;
+		}
+
+		String payload = token.substring(0, signatureStart);
+		byte[] signature;
+		try {
+			signature = DECODER.decode(token.substring(signatureStart + 1));
+		} catch (IllegalArgumentException exception) {
+			return null;
+		}
+		if (!MessageDigest.isEqual(sign(payload), signature)) {
+			return null;
+		}
+
+		// the payload is signed, so it is well formed from here on
+		String[] parts = payload.split("\\.");
+
+		return new VerifiedToken(
+			Long.parseLong(parts[0]),
+			Long.parseLong(parts[1]),
+			parts[2]
+		);
+	}
+
+	private byte[] sign(String payload) {
+		return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private byte[] secretOf(String tokenSecret) {
+		if (!tokenSecret.isBlank()) {
+			return Base64.getDecoder().decode(tokenSecret);
+		}
+
+		log.warn(
+			"app.auth.token-secret is not set, session tokens are signed with a random key and are only valid on this instance until it restarts"
+		);
+		byte[] secret = new byte[SECRET_BYTES];
+		secureRandom.nextBytes(secret);
+
+		return secret;
+	}
+
+	record IssuedToken(String token, Instant expiresAt) {}
+
+	private record VerifiedToken(long userId, long expiresAt, String tokenId) {}
+}
@@ -0,0 +1,9 @@
+package project.eepw.softwaretestingcrud.domain.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record LoginRequestDTO(
+	@NotBlank @Size(max = 255) String email,
+	@NotBlank @Size(max = 255) String password
+) {}
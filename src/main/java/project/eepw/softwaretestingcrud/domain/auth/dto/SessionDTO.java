@@ -0,0 +1,5 @@
+package project.eepw.softwaretestingcrud.domain.auth.dto;
+
+import java.time.Instant;
+
+public record SessionDTO(Long userId, String token, Instant expiresAt) {}
@@ -0,0 +1,78 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Append-only file of accepted comments, one JSON document per line. It is
+ * truncated once everything it holds has been flushed to the database.
+ */
+@RequiredArgsConstructor
+class CommentJournal {
+
+	private final Path path;
+	private final ObjectMapper objectMapper;
+
+	void append(PendingComment pendingComment) {
+		try {
+			Files.writeString(
+				path,
+				objectMapper.writeValueAsString(pendingComment) + '\n',
+				StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND,
+				StandardOpenOption.SYNC
+			);
+		} catch (JsonProcessingException exception) {
+			throw new IllegalStateException(
+				"Could not serialize pending comment",
+				exception
+			);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	List<PendingComment> readAll() {
+		if (!Files.exists(path)) {
+			return List.of();
+		}
+
+		try {
+			List<PendingComment> pendingComments = new ArrayList<>();
+			for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+				if (!line.isBlank()) {
+					pendingComments.add(
+						objectMapper.readValue(line, PendingComment.class)
+					);
+				}
+			}
+			return pendingComments;
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	void truncate() {
+		try {
+			Files.write(
+				path,
+				new byte[0],
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.SYNC
+			);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+}
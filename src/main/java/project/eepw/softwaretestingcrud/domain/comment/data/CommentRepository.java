@@ -1,8 +1,98 @@
 package project.eepw.softwaretestingcrud.domain.comment.data;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import project.eepw.softwaretestingcrud.domain.StreamingQueries;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentSearchHit;
 import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
 
 @Repository
-interface CommentRepository extends JpaRepository<Comment, Long> {}
+interface CommentRepository extends JpaRepository<Comment, Long> {
+	/**
+	 * Comment listings embed the author and the post, so their versions and
+	 * the comment counter of the post are part of the stamp as well.
+	 */
+	@Query(
+		"""
+		select new project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp(
+			count(c),
+			coalesce(max(c.id), 0L),
+			coalesce(sum(c.version + a.version + p.version), 0L),
+			coalesce(max(p.commentCount), 0L)
+		)
+		from comments c join c.author a join c.post p
+		where p.id = :postId
+		"""
+	)
+	VersionStamp findPostCommentsVersionStamp(Long postId);
+
+	@Query(
+		"select c from comments c join fetch c.author join fetch c.post p where p.id = :postId order by c.id"
+	)
+	List<Comment> findAllByPostIdWithAuthorAndPost(Long postId);
+
+	Slice<Comment> findByIdGreaterThanOrderByIdAsc(
+		Long afterId,
+		Pageable pageable
+	);
+
+	@Query(
+		"select c from comments c join fetch c.author join fetch c.post where c.id > :afterId order by c.id"
+	)
+	Slice<Comment> findWithAuthorAndPostByIdGreaterThan(
+		Long afterId,
+		Pageable pageable
+	);
+
+	@Query(
+		"select c from comments c join fetch c.author join fetch c.post where c.id in :commentIds"
+	)
+	List<Comment> findAllWithAuthorAndPostByIdIn(Collection<Long> commentIds);
+
+	@QueryHints(
+		@QueryHint(
+			name = HibernateHints.HINT_FETCH_SIZE,
+			value = StreamingQueries.FETCH_SIZE
+		)
+	)
+	@Query("select c from comments c order by c.id")
+	Stream<Comment> streamAllForExport();
+
+	/**
+	 * The match predicate uses the expression of comments_content_fts_idx, see
+	 * FullTextIndexInitializer. The content is HTML-escaped before the
+	 * headline adds its {@code <b>} tags, it is user input.
+	 */
+	@Query(
+		value = """
+		select c.id as id, c.post_id as postId, c.author_id as userId,
+			c.content as content,
+			ts_rank(to_tsvector('simple', c.content), q.query) as rank,
+			ts_headline(
+				'simple',
+				replace(replace(replace(c.content, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+				q.query
+			) as highlight
+		from comments c, websearch_to_tsquery('simple', :query) q(query)
+		where to_tsvector('simple', c.content) @@ q.query
+		order by rank desc, c.id
+		""",
+		countQuery = """
+		select count(*) from comments c
+		where to_tsvector('simple', c.content) @@ websearch_to_tsquery('simple', :query)
+		""",
+		nativeQuery = true
+	)
+	Page<CommentSearchHit> searchByContent(String query, Pageable pageable);
+}
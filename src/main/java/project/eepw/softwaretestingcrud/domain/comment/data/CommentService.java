@@ -1,22 +1,40 @@
 package project.eepw.softwaretestingcrud.domain.comment.data;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentAcceptedDTO;
 import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
 import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentSearchHit;
+import project.eepw.softwaretestingcrud.domain.comment.dto.NormalizedCommentsDTO;
 import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
 import project.eepw.softwaretestingcrud.domain.comment.helper.CommentDTOMapper;
 import project.eepw.softwaretestingcrud.domain.post.data.PostService;
 import project.eepw.softwaretestingcrud.domain.post.entity.Post;
 import project.eepw.softwaretestingcrud.domain.user.data.UserService;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
+import project.eepw.softwaretestingcrud.infrastructure.concurrency.RequestCoalescer;
 import project.eepw.softwaretestingcrud.infrastructure.exception.CommentNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.exception.PostNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +44,10 @@ public class CommentService {
 	private final CommentRepository commentRepository;
 	private final UserService userService;
 	private final PostService postService;
+	private final RequestCoalescer requestCoalescer;
+	private final PostCommentsCache postCommentsCache;
+	private final CommentWriteBehind commentWriteBehind;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Transactional(readOnly = true)
 	public Set<Comment> getAllCommentsDTOs() {
@@ -33,13 +55,98 @@ public class CommentService {
 	}
 
 	@Transactional(readOnly = true)
-	public Set<CommentDTO> getCommentsAttachedToPost(Long postId) {
-		return commentRepository
-			.findAll()
-			.stream()
-			.filter(comment -> comment.getPost().getId().equals(postId))
-			.map(CommentDTOMapper::toDto)
-			.collect(Collectors.toSet());
+	public Slice<Comment> getCommentsAfter(long afterId, int limit) {
+		return commentRepository.findByIdGreaterThanOrderByIdAsc(
+			afterId,
+			PageRequest.ofSize(limit)
+		);
+	}
+
+	/**
+	 * Has to be consumed and closed inside the caller's transaction, the
+	 * stream is backed by an open result set.
+	 */
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	public Stream<Comment> streamAllComments() {
+		return commentRepository.streamAllForExport();
+	}
+
+	/**
+	 * Not transactional on purpose: callers waiting for a coalesced load must
+	 * not hold a connection, the fetch join leaves nothing to load lazily.
+	 * The version stamp has to be read before the call, cached listings are
+	 * only served for the stamp they were loaded under. Loads are only shared
+	 * between callers that read the same stamp, a caller that saw a newer one
+	 * must not cache a load started before the change under its stamp.
+	 */
+	public Set<CommentDTO> getCommentsAttachedToPost(
+		Long postId,
+		VersionStamp versionStamp
+	) {
+		return postCommentsCache.get(
+			postId,
+			versionStamp,
+			() ->
+				requestCoalescer.load(
+					"post-comments",
+					new PostCommentsKey(postId, versionStamp),
+					() ->
+						commentRepository
+							.findAllByPostIdWithAuthorAndPost(postId)
+							.stream()
+							.map(CommentDTOMapper::toDto)
+							.collect(Collectors.toUnmodifiableSet())
+				)
+		);
+	}
+
+	@Transactional(readOnly = true)
+	public BatchResultDTO<CommentDTO> getCommentDTOsByIds(
+		Collection<Long> commentIds
+	) {
+		return BatchResultDTO.of(
+			commentIds,
+			commentRepository
+				.findAllWithAuthorAndPostByIdIn(commentIds)
+				.stream()
+				.map(CommentDTOMapper::toDto)
+				.toList(),
+			CommentDTO::getId
+		);
+	}
+
+	@Transactional(readOnly = true)
+	public NormalizedCommentsDTO getNormalizedCommentsAttachedToPost(
+		Long postId
+	) {
+		return CommentDTOMapper.toNormalizedDto(
+			commentRepository.findAllByPostIdWithAuthorAndPost(postId)
+		);
+	}
+
+	/**
+	 * Comments with ids above afterId in id order, at most limit of them, with
+	 * their authors and posts fetched for normalizing the slice.
+	 */
+	@Transactional(readOnly = true)
+	public Slice<Comment> getCommentsWithAuthorAndPostAfter(
+		long afterId,
+		int limit
+	) {
+		return commentRepository.findWithAuthorAndPostByIdGreaterThan(
+			afterId,
+			PageRequest.ofSize(limit)
+		);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<CommentSearchHit> searchComments(String query, Pageable pageable) {
+		return commentRepository.searchByContent(query, pageable);
+	}
+
+	@Transactional(readOnly = true)
+	public VersionStamp getPostCommentsVersionStamp(Long postId) {
+		return commentRepository.findPostCommentsVersionStamp(postId);
 	}
 
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -57,10 +164,39 @@ public class CommentService {
 		Comment savedComment = commentRepository.save(comment);
 		commentedPost.getComments().add(comment);
 		postService.savePost(commentedPost);
+		postService.adjustCommentCount(commentedPost.getId(), 1);
+		publishCommentChanged(
+			ChangeType.CREATED,
+			savedComment.getId(),
+			commentedPost.getId()
+		);
 
 		return savedComment;
 	}
 
+	/**
+	 * Validates the author and the post and queues the comment, it is written
+	 * by the next write-behind flush under the returned id.
+	 */
+	public CommentAcceptedDTO acceptNewCommentToPost(
+		CommentCreationDTO commentCreationDTO
+	) {
+		if (!userService.existsById(commentCreationDTO.getUserId())) {
+			throw new UserNotFoundException("User has not been found");
+		}
+		if (!postService.existsById(commentCreationDTO.getPostId())) {
+			throw new PostNotFoundException("Post has not been found!");
+		}
+
+		return new CommentAcceptedDTO(
+			commentWriteBehind.accept(
+				commentCreationDTO.getUserId(),
+				commentCreationDTO.getPostId(),
+				commentCreationDTO.getContent()
+			)
+		);
+	}
+
 	@Transactional
 	public void deleteCommentById(Long commentId) {
 		Comment comment = getCommentById(commentId);
@@ -75,10 +211,13 @@ public class CommentService {
 		commentRepository.deleteById(commentId);
 		post.setComments(filteredComments);
 		postService.savePost(post);
+		postService.adjustCommentCount(post.getId(), -1);
+		publishCommentChanged(ChangeType.DELETED, commentId, post.getId());
 
 		log.debug("Deleted comment with id=[{}]", commentId);
 	}
 
+	@Transactional(readOnly = true)
 	public Comment getCommentById(Long commentId) {
 		return commentRepository
 			.findById(commentId)
@@ -88,4 +227,16 @@ public class CommentService {
 				)
 			);
 	}
+
+	private void publishCommentChanged(
+		ChangeType changeType,
+		Long commentId,
+		Long postId
+	) {
+		eventPublisher.publishEvent(
+			EntityChangedEvent.of(EntityType.COMMENT, changeType, commentId, postId)
+		);
+	}
+
+	private record PostCommentsKey(Long postId, VersionStamp versionStamp) {}
 }
@@ -0,0 +1,247 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.eepw.softwaretestingcrud.domain.comment.data.CommentWriteBehindProperties.Durability;
+import project.eepw.softwaretestingcrud.domain.post.data.PostService;
+import project.eepw.softwaretestingcrud.infrastructure.exception.WriteBehindQueueFullException;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
+
+/**
+ * Bounded queue of accepted comments flushed to the database in batches. Ids
+ * are taken from comments_seq up front, so accepted comments keep the id they
+ * were acknowledged with. Batches are inserted with a single JDBC batch
+ * statement; a failing batch is retried comment by comment and comments that
+ * still fail (e.g. their post was deleted meanwhile) are dropped and counted.
+ */
+@Component
+@Slf4j
+class CommentWriteBehind {
+
+	private static final String INSERT_COMMENT =
+		"insert into comments (id, content, version, post_id, author_id) values (?, ?, 0, ?, ?)";
+	private static final String SELECT_EXISTING_IDS =
+		"select id from comments where id in (:ids)";
+
+	private final CommentWriteBehindProperties properties;
+	private final BlockingQueue<PendingComment> queue;
+	private final CommentJournal journal;
+	private final Object journalLock = new Object();
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final PostService postService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final String nextIdQuery;
+	private final Counter acceptedComments;
+	private final Counter persistedComments;
+	private final Counter droppedComments;
+
+	CommentWriteBehind(
+		CommentWriteBehindProperties properties,
+		NamedParameterJdbcTemplate jdbcTemplate,
+		TransactionTemplate transactionTemplate,
+		PostService postService,
+		ApplicationEventPublisher eventPublisher,
+		ObjectMapper objectMapper,
+		EntityManagerFactory entityManagerFactory,
+		MeterRegistry meterRegistry
+	) {
+		this.properties = properties;
+		this.queue = new ArrayBlockingQueue<>(properties.capacity());
+		this.journal =
+			properties.durability() == Durability.JOURNAL
+				? new CommentJournal(properties.journalPath(), objectMapper)
+				: null;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.postService = postService;
+		this.eventPublisher = eventPublisher;
+		this.nextIdQuery =
+			entityManagerFactory
+				.unwrap(SessionFactoryImplementor.class)
+				.getJdbcServices()
+				.getDialect()
+				.getSequenceSupport()
+				.getSequenceNextValString("comments_seq");
+
+		Gauge
+			.builder("comments.write.behind.queue.depth", queue, Collection::size)
+			.description("Accepted comments waiting to be written")
+			.register(meterRegistry);
+		this.acceptedComments =
+			meterRegistry.counter("comments.write.behind", "result", "accepted");
+		this.persistedComments =
+			meterRegistry.counter("comments.write.behind", "result", "persisted");
+		this.droppedComments =
+			meterRegistry.counter("comments.write.behind", "result", "dropped");
+	}
+
+	@PostConstruct
+	void replayJournal() {
+		if (journal == null) {
+			return;
+		}
+
+		List<PendingComment> journaledComments = journal.readAll();
+		int batchSize = properties.batchSize();
+		for (int from = 0; from < journaledComments.size(); from += batchSize) {
+			int to = Math.min(from + batchSize, journaledComments.size());
+			persist(journaledComments.subList(from, to));
+		}
+		journal.truncate();
+		log.info("Replayed [{}] journaled comments", journaledComments.size());
+	}
+
+	Long accept(Long userId, Long postId, String content) {
+		Long id = jdbcTemplate
+			.getJdbcTemplate()
+			.queryForObject(nextIdQuery, Long.class);
+		PendingComment pendingComment = new PendingComment(
+			id,
+			content,
+			userId,
+			postId
+		);
+
+		if (journal == null) {
+			if (!queue.offer(pendingComment)) {
+				throw queueFull();
+			}
+		} else {
+			synchronized (journalLock) {
+				if (queue.remainingCapacity() == 0) {
+					throw queueFull();
+				}
+				journal.append(pendingComment);
+				queue.add(pendingComment);
+			}
+		}
+		acceptedComments.increment();
+
+		return id;
+	}
+
+	@Scheduled(
+		fixedDelayString = "${app.comments.write-behind.flush-interval:PT0.2S}"
+	)
+	@PreDestroy
+	public synchronized void flush() {
+		List<PendingComment> batch = new ArrayList<>(properties.batchSize());
+		while (queue.drainTo(batch, properties.batchSize()) > 0) {
+			persist(batch);
+			batch.clear();
+		}
+
+		if (journal != null) {
+			synchronized (journalLock) {
+				// comments accepted meanwhile are still journaled only
+				if (queue.isEmpty()) {
+					journal.truncate();
+				}
+			}
+		}
+	}
+
+	private void persist(List<PendingComment> batch) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> insert(batch));
+			persistedComments.increment(batch.size());
+		} catch (RuntimeException batchException) {
+			log.warn(
+				"Writing a batch of [{}] comments failed, retrying one by one",
+				batch.size(),
+				batchException
+			);
+			for (PendingComment pendingComment : batch) {
+				try {
+					transactionTemplate.executeWithoutResult(status ->
+						insert(List.of(pendingComment))
+					);
+					persistedComments.increment();
+				} catch (RuntimeException exception) {
+					droppedComments.increment();
+					log.error(
+						"Dropping comment with id=[{}] of post with id=[{}]",
+						pendingComment.id(),
+						pendingComment.postId(),
+						exception
+					);
+				}
+			}
+		}
+	}
+
+	private void insert(List<PendingComment> pendingComments) {
+		// journal replays may contain comments that were already written
+		List<Long> ids = pendingComments.stream().map(PendingComment::id).toList();
+		Set<Long> existingIds = new HashSet<>(
+			jdbcTemplate.queryForList(SELECT_EXISTING_IDS, Map.of("ids", ids), Long.class)
+		);
+		List<PendingComment> newComments = pendingComments
+			.stream()
+			.filter(pendingComment -> !existingIds.contains(pendingComment.id()))
+			.toList();
+		if (newComments.isEmpty()) {
+			return;
+		}
+
+		jdbcTemplate
+			.getJdbcTemplate()
+			.batchUpdate(
+				INSERT_COMMENT,
+				newComments,
+				newComments.size(),
+				(statement, pendingComment) -> {
+					statement.setLong(1, pendingComment.id());
+					statement.setString(2, pendingComment.content());
+					statement.setLong(3, pendingComment.postId());
+					statement.setLong(4, pendingComment.userId());
+				}
+			);
+		newComments
+			.stream()
+			.collect(
+				Collectors.groupingBy(PendingComment::postId, Collectors.counting())
+			)
+			.forEach(postService::adjustCommentCount);
+		newComments.forEach(pendingComment ->
+			eventPublisher.publishEvent(
+				EntityChangedEvent.of(
+					EntityType.COMMENT,
+					ChangeType.CREATED,
+					pendingComment.id(),
+					pendingComment.postId()
+				)
+			)
+		);
+	}
+
+	private WriteBehindQueueFullException queueFull() {
+		return new WriteBehindQueueFullException(
+			"Too many comments are waiting to be written, retry later"
+		);
+	}
+}
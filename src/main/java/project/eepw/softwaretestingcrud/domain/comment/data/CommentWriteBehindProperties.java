@@ -0,0 +1,24 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Write-behind of asynchronously created comments. With 'memory' durability
+ * accepted comments that were not flushed yet are lost when the instance
+ * stops abruptly; with 'journal' every accepted comment is appended and synced
+ * to the journal file before the request is answered and replayed on startup.
+ */
+@ConfigurationProperties(prefix = "app.comments.write-behind")
+record CommentWriteBehindProperties(
+	@DefaultValue("10000") int capacity,
+	@DefaultValue("500") int batchSize,
+	@DefaultValue("memory") Durability durability,
+	@DefaultValue("comment-write-behind.journal") Path journalPath
+) {
+	enum Durability {
+		MEMORY,
+		JOURNAL
+	}
+}
@@ -0,0 +1,3 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+record PendingComment(Long id, String content, Long userId, Long postId) {}
@@ -0,0 +1,126 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserDTO;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.InvalidationBus;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.InvalidationListener;
+
+/**
+ * Mapped comment listings per post, bounded by their estimated size in bytes.
+ *
+ * <p>Every entry remembers the version stamp it was loaded under and is only
+ * served for the same stamp. The stamp is read before the listing, so an entry
+ * is never older than its stamp, and edits of authors or of the post itself
+ * (which change the stamp but do not go through the comment writes) can never
+ * be served stale. Entries are additionally dropped as soon as a comment or
+ * post change is broadcast, on this or any other instance.
+ */
+@Component
+class PostCommentsCache implements InvalidationListener {
+
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+	private static final int COMMENT_OVERHEAD_BYTES = 160;
+
+	private final Cache<Long, CachedComments> cache;
+
+	PostCommentsCache(
+		@Value("${app.comments.cache.max-size-bytes:33554432}") long maxSizeBytes,
+		MeterRegistry meterRegistry,
+		InvalidationBus invalidationBus
+	) {
+		this.cache =
+			Caffeine
+				.newBuilder()
+				.maximumWeight(maxSizeBytes)
+				.weigher((Long postId, CachedComments entry) -> entry.sizeBytes())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "post-comments");
+		invalidationBus.subscribe(this);
+	}
+
+	public Set<CommentDTO> get(
+		Long postId,
+		VersionStamp versionStamp,
+		Supplier<Set<CommentDTO>> loader
+	) {
+		CachedComments cached = cache.getIfPresent(postId);
+		if (cached != null && cached.versionStamp().equals(versionStamp)) {
+			return cached.comments();
+		}
+
+		Set<CommentDTO> comments = loader.get();
+		cache.put(postId, CachedComments.of(versionStamp, comments));
+
+		return comments;
+	}
+
+	@Override
+	public void onEntityChanged(EntityChangedEvent event) {
+		switch (event.entityType()) {
+			case COMMENT -> cache.invalidate(event.parentId());
+			case POST -> cache.invalidate(event.id());
+			case USER -> {
+				// author edits are caught by the version stamp
+			}
+		}
+	}
+
+	@Override
+	public void onInvalidationGap() {
+		cache.invalidateAll();
+	}
+
+	private record CachedComments(
+		VersionStamp versionStamp,
+		Set<CommentDTO> comments,
+		int sizeBytes
+	) {
+		static CachedComments of(
+			VersionStamp versionStamp,
+			Set<CommentDTO> comments
+		) {
+			long sizeBytes = ENTRY_OVERHEAD_BYTES;
+			for (CommentDTO comment : comments) {
+				sizeBytes += estimateSizeBytes(comment);
+			}
+
+			return new CachedComments(
+				versionStamp,
+				comments,
+				(int) Math.min(sizeBytes, Integer.MAX_VALUE)
+			);
+		}
+
+		private static long estimateSizeBytes(CommentDTO comment) {
+			UserDTO user = comment.getUserDTO();
+			PostDTO post = comment.getPostDTO();
+			long characters = length(comment.getContent());
+			if (user != null) {
+				characters +=
+					length(user.name()) + length(user.surname()) + length(user.email());
+			}
+			if (post != null) {
+				characters += length(post.getContent());
+			}
+
+			return COMMENT_OVERHEAD_BYTES + 2 * characters;
+		}
+
+		private static int length(String value) {
+			return Objects.requireNonNullElse(value, "").length();
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package project.eepw.softwaretestingcrud.domain.comment.dto;
+
+/**
+ * Response of an asynchronous comment creation, the comment becomes visible
+ * under this id once the write-behind queue has been flushed.
+ */
+public record CommentAcceptedDTO(Long id) {}
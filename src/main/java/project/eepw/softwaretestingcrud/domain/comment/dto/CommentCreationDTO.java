@@ -1,5 +1,6 @@
 package project.eepw.softwaretestingcrud.domain.comment.dto;
 
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -15,12 +16,15 @@ import lombok.Setter;
 @Builder
 public class CommentCreationDTO {
 
+	@NotNull
 	@Positive
 	private Long userId;
 
+	@NotNull
 	@Positive
 	private Long postId;
 
+	@NotNull
 	@Size(max = 1024)
 	private String content;
 }
@@ -15,6 +15,7 @@ import project.eepw.softwaretestingcrud.domain.user.dto.UserDTO;
 @Builder(toBuilder = true)
 public class CommentDTO {
 
+	private Long id;
 	private UserDTO userDTO;
 	private String content;
 	private PostDTO postDTO;
@@ -0,0 +1,11 @@
+package project.eepw.softwaretestingcrud.domain.comment.dto;
+
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record CommentReferenceDTO(
+	Long id,
+	String content,
+	Long userId,
+	Long postId
+) {}
@@ -0,0 +1,19 @@
+package project.eepw.softwaretestingcrud.domain.comment.dto;
+
+public interface CommentSearchHit {
+	Long getId();
+
+	Long getPostId();
+
+	Long getUserId();
+
+	String getContent();
+
+	Float getRank();
+
+	/**
+	 * Fragment of the HTML-escaped content with matched terms wrapped in
+	 * {@code <b>} tags, safe to render as HTML.
+	 */
+	String getHighlight();
+}
@@ -0,0 +1,18 @@
+package project.eepw.softwaretestingcrud.domain.comment.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserDTO;
+
+/**
+ * Comments referencing their author and post by id, with every referenced
+ * user and post sent once instead of being repeated in each comment.
+ */
+@Builder(toBuilder = true)
+public record NormalizedCommentsDTO(
+	List<CommentReferenceDTO> comments,
+	Map<Long, UserDTO> users,
+	Map<Long, PostDTO> posts
+) {}
@@ -6,8 +6,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -21,6 +24,12 @@ import project.eepw.softwaretestingcrud.domain.post.entity.Post;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
 
 @Entity(name = "comments")
+@Table(
+	indexes = {
+		@Index(name = "comments_post_id_idx", columnList = "post_id"),
+		@Index(name = "comments_author_id_idx", columnList = "author_id")
+	}
+)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
@@ -42,6 +51,10 @@ public class Comment {
 	@NotNull
 	private String content;
 
+	@Version
+	@EqualsAndHashCode.Exclude
+	private Long version;
+
 	@ManyToOne(fetch = FetchType.LAZY)
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
@@ -1,10 +1,19 @@
 package project.eepw.softwaretestingcrud.domain.comment.helper;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentReferenceDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.NormalizedCommentsDTO;
 import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
 import project.eepw.softwaretestingcrud.domain.post.helper.PostDTOMapper;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserDTO;
 import project.eepw.softwaretestingcrud.domain.user.helper.UserDTOMapper;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -13,9 +22,47 @@ public final class CommentDTOMapper {
 	public static CommentDTO toDto(Comment comment) {
 		return CommentDTO
 			.builder()
+			.id(comment.getId())
 			.userDTO(UserDTOMapper.toDto(comment.getAuthor()))
 			.postDTO(PostDTOMapper.toDto(comment.getPost()))
 			.content(comment.getContent())
 			.build();
 	}
+
+	public static CommentReferenceDTO toReferenceDto(Comment comment) {
+		return CommentReferenceDTO
+			.builder()
+			.id(comment.getId())
+			.content(comment.getContent())
+			.userId(comment.getAuthor().getId())
+			.postId(comment.getPost().getId())
+			.build();
+	}
+
+	public static NormalizedCommentsDTO toNormalizedDto(
+		Collection<Comment> comments
+	) {
+		List<CommentReferenceDTO> references = new ArrayList<>(comments.size());
+		Map<Long, UserDTO> users = new LinkedHashMap<>();
+		Map<Long, PostDTO> posts = new LinkedHashMap<>();
+
+		for (Comment comment : comments) {
+			references.add(toReferenceDto(comment));
+			users.computeIfAbsent(
+				comment.getAuthor().getId(),
+				userId -> UserDTOMapper.toDto(comment.getAuthor())
+			);
+			posts.computeIfAbsent(
+				comment.getPost().getId(),
+				postId -> PostDTOMapper.toDto(comment.getPost())
+			);
+		}
+
+		return NormalizedCommentsDTO
+			.builder()
+			.comments(references)
+			.users(users)
+			.posts(posts)
+			.build();
+	}
 }
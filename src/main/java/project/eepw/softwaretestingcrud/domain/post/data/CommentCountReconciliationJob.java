@@ -0,0 +1,41 @@
+package project.eepw.softwaretestingcrud.domain.post.data;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs comment counters that drifted from the actual number of comments,
+ * e.g. after manual data fixes. Posts are recounted in id ranges, each range
+ * in its own short transaction, so the job never locks the whole table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class CommentCountReconciliationJob {
+
+	private final PostRepository postRepository;
+	private final CommentCountReconciliationProperties properties;
+
+	@Scheduled(
+		initialDelayString = "${app.posts.comment-count-reconciliation.initial-delay:PT1M}",
+		fixedDelayString = "${app.posts.comment-count-reconciliation.delay:PT15M}"
+	)
+	public void reconcileCommentCounts() {
+		long maxId = postRepository.findMaxId();
+		long batchSize = properties.batchSize();
+		int repairedPosts = 0;
+
+		for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+			repairedPosts +=
+				postRepository.reconcileCommentCounts(fromId, fromId + batchSize - 1);
+		}
+
+		if (repairedPosts > 0) {
+			log.warn("Repaired comment counters of [{}] posts", repairedPosts);
+		} else {
+			log.debug("Comment counters of posts up to id=[{}] are consistent", maxId);
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package project.eepw.softwaretestingcrud.domain.post.data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Posts recounted per transaction by {@link CommentCountReconciliationJob}.
+ * The schedule is set with 'initial-delay' and 'delay' under the same prefix.
+ */
+@ConfigurationProperties(prefix = "app.posts.comment-count-reconciliation")
+record CommentCountReconciliationProperties(
+	@DefaultValue("1000") long batchSize
+) {}
@@ -1,8 +1,113 @@
 package project.eepw.softwaretestingcrud.domain.post.data;
 
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.eepw.softwaretestingcrud.domain.StreamingQueries;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostSearchHit;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostVersionDTO;
 import project.eepw.softwaretestingcrud.domain.post.entity.Post;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
 
 @Repository
-interface PostRepository extends JpaRepository<Post, Long> {}
+interface PostRepository extends JpaRepository<Post, Long> {
+	@Query(
+		"select new project.eepw.softwaretestingcrud.domain.post.dto.PostVersionDTO(p.version, p.commentCount) from posts p where p.id = :postId"
+	)
+	Optional<PostVersionDTO> findVersionById(Long postId);
+
+	@Modifying
+	@Transactional
+	@Query(
+		"update posts p set p.commentCount = p.commentCount + :delta where p.id = :postId"
+	)
+	int incrementCommentCount(Long postId, long delta);
+
+	Slice<Post> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+	Slice<Post> findByUserIdAndIdGreaterThanOrderByIdAsc(
+		Long userId,
+		Long afterId,
+		Pageable pageable
+	);
+
+	@QueryHints(
+		@QueryHint(
+			name = HibernateHints.HINT_FETCH_SIZE,
+			value = StreamingQueries.FETCH_SIZE
+		)
+	)
+	@Query("select p from posts p order by p.id")
+	Stream<Post> streamAllForExport();
+
+	@Query("select coalesce(max(p.id), 0L) from posts p")
+	long findMaxId();
+
+	/**
+	 * Recounts the comments of the posts in the given id range and rewrites the
+	 * counters that drifted, returning how many of them were repaired.
+	 */
+	@Modifying
+	@Transactional
+	@Query(
+		value = """
+		update posts p
+		set comment_count = (select count(*) from comments c where c.post_id = p.id)
+		where p.id between :fromId and :toId
+		and p.comment_count <> (select count(*) from comments c where c.post_id = p.id)
+		""",
+		nativeQuery = true
+	)
+	int reconcileCommentCounts(Long fromId, Long toId);
+
+	@Query(
+		"""
+		select new project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp(
+			count(p),
+			coalesce(max(p.id), 0L),
+			coalesce(sum(p.version), 0L),
+			coalesce(sum(p.commentCount), 0L)
+		)
+		from users u left join u.posts p
+		where u.id = :userId
+		group by u.id
+		"""
+	)
+	Optional<VersionStamp> findUserPostsVersionStamp(Long userId);
+
+	/**
+	 * The match predicate uses the expression of posts_content_fts_idx, see
+	 * FullTextIndexInitializer. The content is HTML-escaped before the
+	 * headline adds its {@code <b>} tags, it is user input.
+	 */
+	@Query(
+		value = """
+		select p.id as id, p.user_id as userId, p.content as content,
+			ts_rank(to_tsvector('simple', p.content), q.query) as rank,
+			ts_headline(
+				'simple',
+				replace(replace(replace(p.content, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+				q.query
+			) as highlight
+		from posts p, websearch_to_tsquery('simple', :query) q(query)
+		where to_tsvector('simple', p.content) @@ q.query
+		order by rank desc, p.id
+		""",
+		countQuery = """
+		select count(*) from posts p
+		where to_tsvector('simple', p.content) @@ websearch_to_tsquery('simple', :query)
+		""",
+		nativeQuery = true
+	)
+	Page<PostSearchHit> searchByContent(String query, Pageable pageable);
+}
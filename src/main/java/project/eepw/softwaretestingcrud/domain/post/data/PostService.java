@@ -1,16 +1,36 @@
 package project.eepw.softwaretestingcrud.domain.post.data;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostSearchHit;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostVersionDTO;
 import project.eepw.softwaretestingcrud.domain.post.entity.Post;
+import project.eepw.softwaretestingcrud.domain.post.helper.PostDTOMapper;
 import project.eepw.softwaretestingcrud.domain.user.data.UserService;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
+import project.eepw.softwaretestingcrud.infrastructure.concurrency.RequestCoalescer;
+import project.eepw.softwaretestingcrud.infrastructure.exception.EntityVersionMismatchException;
 import project.eepw.softwaretestingcrud.infrastructure.exception.PostNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
 
 @Service
 @RequiredArgsConstructor
@@ -19,35 +39,129 @@ public class PostService {
 
 	private final PostRepository postRepository;
 	private final UserService userService;
+	private final RequestCoalescer requestCoalescer;
+	private final ApplicationEventPublisher eventPublisher;
 
+	@Transactional(readOnly = true)
 	public PostDTO getPostDTOById(Long postId) {
+		return findPostDTO(postId);
+	}
+
+	/**
+	 * Not transactional on purpose: callers waiting for a coalesced load must
+	 * not hold a connection, the repository lookup runs in its own read-only
+	 * transaction. Loads are only shared between callers that read the same
+	 * version, a caller that saw a newer one must not get a body loaded before
+	 * the change under its tag.
+	 */
+	public PostDTO getPostDTOById(Long postId, PostVersionDTO postVersion) {
+		return requestCoalescer.load(
+			"post",
+			new PostKey(postId, postVersion),
+			() -> findPostDTO(postId)
+		);
+	}
+
+	@Transactional(readOnly = true)
+	public BatchResultDTO<PostDTO> getPostDTOsByIds(Collection<Long> postIds) {
+		return BatchResultDTO.of(
+			postIds,
+			postRepository
+				.findAllById(postIds)
+				.stream()
+				.map(PostDTOMapper::toDto)
+				.toList(),
+			PostDTO::getId
+		);
+	}
+
+	@Transactional(readOnly = true)
+	public PostVersionDTO getPostVersion(Long postId) {
 		return postRepository
-			.findById(postId)
-			.map(post -> new PostDTO(post.getId(), post.getContent()))
+			.findVersionById(postId)
 			.orElseThrow(() -> new PostNotFoundException("Post has not been found!"));
 	}
 
+	@Transactional(readOnly = true)
+	public VersionStamp getUserPostsVersionStamp(Long userId) {
+		return postRepository
+			.findUserPostsVersionStamp(userId)
+			.orElseThrow(() -> new UserNotFoundException("User has not been found"));
+	}
+
+	@Transactional(readOnly = true)
 	public Collection<PostDTO> getAllUserPosts(Long userId) {
 		return userService
 			.getUserById(userId)
 			.getPosts()
 			.stream()
-			.map(userPost -> new PostDTO(userPost.getId(), userPost.getContent()))
+			.map(PostDTOMapper::toDto)
 			.collect(Collectors.toSet());
 	}
 
+	/**
+	 * Posts of the user with ids above afterId in id order, at most limit of
+	 * them. The slice is read with one extra row to tell whether more follow.
+	 */
+	@Transactional(readOnly = true)
+	public Slice<PostDTO> getUserPostsAfter(
+		Long userId,
+		long afterId,
+		int limit
+	) {
+		return postRepository
+			.findByUserIdAndIdGreaterThanOrderByIdAsc(
+				userId,
+				afterId,
+				PageRequest.ofSize(limit)
+			)
+			.map(PostDTOMapper::toDto);
+	}
+
+	/**
+	 * Applies the change as a single UPDATE statement, so concurrent comment
+	 * writes on the same post never lose an increment.
+	 */
+	@Transactional
+	public void adjustCommentCount(Long postId, long delta) {
+		postRepository.incrementCommentCount(postId, delta);
+	}
+
 	public Post savePost(Post savedPost) {
 		return postRepository.save(savedPost);
 	}
 
+	@Transactional(readOnly = true)
 	public Collection<PostDTO> getAllPosts() {
 		return postRepository
 			.findAll()
 			.stream()
-			.map(post -> new PostDTO(post.getId(), post.getContent()))
+			.map(PostDTOMapper::toDto)
 			.collect(Collectors.toSet());
 	}
 
+	@Transactional(readOnly = true)
+	public Slice<PostDTO> getPostsAfter(long afterId, int limit) {
+		return postRepository
+			.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(limit))
+			.map(PostDTOMapper::toDto);
+	}
+
+	/**
+	 * Has to be consumed and closed inside the caller's transaction, the
+	 * stream is backed by an open result set.
+	 */
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	public Stream<Post> streamAllPosts() {
+		return postRepository.streamAllForExport();
+	}
+
+	@Transactional(readOnly = true)
+	public Page<PostSearchHit> searchPosts(String query, Pageable pageable) {
+		return postRepository.searchByContent(query, pageable);
+	}
+
+	@Transactional
 	public PostDTO createPost(PostCreationDTO postCreationDTO, Long userId) {
 		User user = userService.getUserById(userId);
 		Post post = Post
@@ -60,20 +174,25 @@ public class PostService {
 		user.getPosts().add(createdPost);
 		userService.updateUser(user);
 
-		return PostDTO
-			.builder()
-			.id(createdPost.getId())
-			.content(createdPost.getContent())
-			.build();
+		publishPostChanged(ChangeType.CREATED, createdPost.getId(), userId);
+
+		return PostDTOMapper.toDto(createdPost);
 	}
 
-	public PostDTO updatePost(PostDTO modifiedPost, Long userId) {
-		User foundUser = userService.getUserById(userId);
-		Post foundUserCurrentlyExistingPost = foundUser
-			.getPosts()
-			.stream()
-			.filter(post -> modifiedPost.getId().equals(post.getId()))
-			.findAny()
+	/**
+	 * Updates the post in place under optimistic locking. When expectedVersion
+	 * is given the update is rejected unless it matches the stored version;
+	 * concurrent writers are detected by the version check on flush.
+	 */
+	@Transactional
+	public PostDTO updatePost(
+		PostDTO modifiedPost,
+		Long userId,
+		Long expectedVersion
+	) {
+		Post post = postRepository
+			.findById(modifiedPost.getId())
+			.filter(foundPost -> Objects.equals(foundPost.getUser().getId(), userId))
 			.orElseThrow(() ->
 				new PostNotFoundException(
 					String.format(
@@ -82,21 +201,24 @@ public class PostService {
 					)
 				)
 			);
-		foundUser.getPosts().remove(foundUserCurrentlyExistingPost);
+		if (expectedVersion != null && !expectedVersion.equals(post.getVersion())) {
+			throw new EntityVersionMismatchException(
+				String.format(
+					"Post with id=[%d] has been modified in the meantime",
+					modifiedPost.getId()
+				)
+			);
+		}
 
-		Post updatedPost = Post
-			.builder()
-			.id(modifiedPost.getId())
-			.content(modifiedPost.getContent())
-			.user(foundUser)
-			.build();
-		foundUser.getPosts().add(updatedPost);
+		post.setContent(modifiedPost.getContent());
 
-		userService.updateUser(foundUser);
+		Post updatedPost = postRepository.saveAndFlush(post);
+		publishPostChanged(ChangeType.UPDATED, updatedPost.getId(), userId);
 
-		return modifiedPost;
+		return PostDTOMapper.toDto(updatedPost);
 	}
 
+	@Transactional
 	public void deletePostById(Long postId) {
 		Post postToDelete = getPostById(postId);
 		User user = userService.getUserById(postToDelete.getUser().getId());
@@ -104,11 +226,37 @@ public class PostService {
 		userService.updateUser(user);
 
 		postRepository.delete(postToDelete);
+		publishPostChanged(ChangeType.DELETED, postId, user.getId());
 	}
 
+	@Transactional(readOnly = true)
+	public boolean existsById(Long postId) {
+		return postRepository.existsById(postId);
+	}
+
+	@Transactional(readOnly = true)
 	public Post getPostById(Long postId) {
 		return postRepository
 			.findById(postId)
 			.orElseThrow(() -> new PostNotFoundException("Post has not been found!"));
 	}
+
+	private void publishPostChanged(
+		ChangeType changeType,
+		Long postId,
+		Long userId
+	) {
+		eventPublisher.publishEvent(
+			EntityChangedEvent.of(EntityType.POST, changeType, postId, userId)
+		);
+	}
+
+	private PostDTO findPostDTO(Long postId) {
+		return postRepository
+			.findById(postId)
+			.map(PostDTOMapper::toDto)
+			.orElseThrow(() -> new PostNotFoundException("Post has not been found!"));
+	}
+
+	private record PostKey(Long postId, PostVersionDTO postVersion) {}
 }
@@ -23,4 +23,10 @@ public class PostDTO {
 	@NotNull
 	@Size(max = 512)
 	private String content;
+
+	@EqualsAndHashCode.Exclude
+	private Long version;
+
+	@EqualsAndHashCode.Exclude
+	private Long commentCount;
 }
@@ -0,0 +1,17 @@
+package project.eepw.softwaretestingcrud.domain.post.dto;
+
+public interface PostSearchHit {
+	Long getId();
+
+	Long getUserId();
+
+	String getContent();
+
+	Float getRank();
+
+	/**
+	 * Fragment of the HTML-escaped content with matched terms wrapped in
+	 * {@code <b>} tags, safe to render as HTML.
+	 */
+	String getHighlight();
+}
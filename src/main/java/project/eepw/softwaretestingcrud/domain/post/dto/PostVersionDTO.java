@@ -0,0 +1,3 @@
+package project.eepw.softwaretestingcrud.domain.post.dto;
+
+public record PostVersionDTO(Long version, long commentCount) {}
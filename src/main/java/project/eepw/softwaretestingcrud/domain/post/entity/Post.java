@@ -2,14 +2,18 @@ package project.eepw.softwaretestingcrud.domain.post.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.util.HashSet;
@@ -21,10 +25,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.OptimisticLock;
 import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
 
 @Entity(name = "posts")
+@Table(indexes = @Index(name = "posts_user_id_idx", columnList = "user_id"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -42,6 +48,18 @@ public class Post {
 	@Size(max = 512)
 	private String content;
 
+	@Version
+	@EqualsAndHashCode.Exclude
+	private Long version;
+
+	/**
+	 * Maintained with atomic increments by the comment writes, never written
+	 * back from the entity so a stale instance cannot overwrite it.
+	 */
+	@Column(name = "comment_count", nullable = false, updatable = false)
+	@EqualsAndHashCode.Exclude
+	private long commentCount;
+
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonIgnore
 	@EqualsAndHashCode.Exclude
@@ -56,6 +74,7 @@ public class Post {
 	@JsonIgnore
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
+	@OptimisticLock(excluded = true)
 	@Builder.Default
 	private Set<Comment> comments = new HashSet<>();
 }
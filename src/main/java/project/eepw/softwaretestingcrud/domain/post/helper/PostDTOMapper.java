@@ -13,6 +13,8 @@ public final class PostDTOMapper {
 			.builder()
 			.id(post.getId())
 			.content(post.getContent())
+			.version(post.getVersion())
+			.commentCount(post.getCommentCount())
 			.build();
 	}
 }
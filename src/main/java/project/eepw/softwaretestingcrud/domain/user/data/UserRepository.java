@@ -1,13 +1,108 @@
 package project.eepw.softwaretestingcrud.domain.user.data;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.eepw.softwaretestingcrud.domain.StreamingQueries;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserCredentialsDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserExportDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserListingDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserSummaryDTO;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
 
 @Repository
-@Transactional
+@Transactional(readOnly = true)
 interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmail(String email);
+
+	@Query(
+		"""
+		select new project.eepw.softwaretestingcrud.domain.user.dto.UserListingDTO(
+			u.id, u.name, u.surname, u.email, u.password, u.version
+		)
+		from users u
+		where u.id > :afterId
+		order by u.id
+		"""
+	)
+	Slice<UserListingDTO> findListingByIdGreaterThan(
+		Long afterId,
+		Pageable pageable
+	);
+
+	/**
+	 * Reads only the columns needed to verify a login through the email index,
+	 * without loading the eagerly fetched posts.
+	 */
+	@Query(
+		"""
+		select new project.eepw.softwaretestingcrud.domain.user.dto.UserCredentialsDTO(
+			u.id,
+			u.password
+		)
+		from users u
+		where u.email = :email
+		"""
+	)
+	List<UserCredentialsDTO> findCredentialsByEmail(String email);
+
+	/**
+	 * Reads the columns only, loading the entities would fetch the eagerly
+	 * mapped posts of every user.
+	 */
+	@QueryHints(
+		@QueryHint(
+			name = HibernateHints.HINT_FETCH_SIZE,
+			value = StreamingQueries.FETCH_SIZE
+		)
+	)
+	@Query(
+		"""
+		select new project.eepw.softwaretestingcrud.domain.user.dto.UserExportDTO(
+			u.id, u.name, u.surname, u.email, u.password, u.version
+		)
+		from users u
+		order by u.id
+		"""
+	)
+	Stream<UserExportDTO> streamAllForExport();
+
+	@Query("select u.version from users u where u.id = :userId")
+	Optional<Long> findVersionById(Long userId);
+
+	@Query(
+		"select distinct u from users u left join fetch u.posts where u.id in :userIds"
+	)
+	List<User> findAllWithPostsByIdIn(Collection<Long> userIds);
+
+	/**
+	 * One row per existing user. Posts are grouped per user, received comments
+	 * come from the maintained post counters and written comments from an
+	 * indexed count on comments.author_id.
+	 */
+	@Query(
+		"""
+		select new project.eepw.softwaretestingcrud.domain.user.dto.UserSummaryDTO(
+			u.id,
+			count(p),
+			(select count(c) from comments c where c.author.id = u.id),
+			coalesce(sum(p.commentCount), 0L)
+		)
+		from users u left join u.posts p
+		where u.id in :userIds
+		group by u.id
+		order by u.id
+		"""
+	)
+	List<UserSummaryDTO> findSummariesByIds(Collection<Long> userIds);
 }
@@ -1,11 +1,26 @@
 package project.eepw.softwaretestingcrud.domain.user.data;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserCredentialsDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserExportDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserListingDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserSummaryDTO;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
 import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
 
 @Service
 @RequiredArgsConstructor
@@ -13,27 +28,94 @@ import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundExc
 public class UserService {
 
 	private final UserRepository userRepository;
+	private final ApplicationEventPublisher eventPublisher;
 
+	@Transactional(readOnly = true)
 	public User getUserById(Long userId) {
 		return userRepository
 			.findById(userId)
 			.orElseThrow(() -> new UserNotFoundException("User has not been found"));
 	}
 
+	@Transactional(readOnly = true)
+	public boolean existsById(Long userId) {
+		return userRepository.existsById(userId);
+	}
+
+	@Transactional(readOnly = true)
 	public Collection<User> getAllUsers() {
 		return userRepository.findAll();
 	}
 
+	@Transactional(readOnly = true)
+	public Slice<UserListingDTO> getUsersAfter(long afterId, int limit) {
+		return userRepository.findListingByIdGreaterThan(
+			afterId,
+			PageRequest.ofSize(limit)
+		);
+	}
+
+	/**
+	 * Has to be consumed and closed inside the caller's transaction, the
+	 * stream is backed by an open result set.
+	 */
+	@Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+	public Stream<UserExportDTO> streamAllUsers() {
+		return userRepository.streamAllForExport();
+	}
+
+	@Transactional(readOnly = true)
+	public BatchResultDTO<User> getUsersByIds(Collection<Long> userIds) {
+		return BatchResultDTO.of(
+			userIds,
+			userRepository.findAllWithPostsByIdIn(userIds),
+			User::getId
+		);
+	}
+
+	@Transactional(readOnly = true)
 	public User getUserByEmail(String email) {
 		return userRepository
 			.findByEmail(email)
 			.orElseThrow(() -> new UserNotFoundException("User has not been found!"));
 	}
 
+	@Transactional(readOnly = true)
+	public List<UserCredentialsDTO> getCredentialsByEmail(String email) {
+		return userRepository.findCredentialsByEmail(email);
+	}
+
+	@Transactional(readOnly = true)
+	public UserSummaryDTO getUserSummary(Long userId) {
+		return userRepository
+			.findSummariesByIds(List.of(userId))
+			.stream()
+			.findFirst()
+			.orElseThrow(() -> new UserNotFoundException("User has not been found"));
+	}
+
+	/**
+	 * Summaries of the existing users among the given ids, ids of missing users
+	 * are skipped.
+	 */
+	@Transactional(readOnly = true)
+	public List<UserSummaryDTO> getUserSummaries(Collection<Long> userIds) {
+		if (userIds.isEmpty()) {
+			return List.of();
+		}
+
+		return userRepository.findSummariesByIds(userIds);
+	}
+
+	@Transactional
 	public User createUser(User user) {
-		return userRepository.save(user);
+		User createdUser = userRepository.save(user);
+		publishUserChanged(ChangeType.CREATED, createdUser.getId());
+
+		return createdUser;
 	}
 
+	@Transactional
 	public User updateUser(User user) {
 		if (user == null) {
 			throw new IllegalArgumentException("User cannot be null!");
@@ -41,10 +123,25 @@ public class UserService {
 		if (!userRepository.existsById(user.getId())) {
 			throw new UserNotFoundException("User has not been found!");
 		}
-		return userRepository.save(user);
+		if (user.getVersion() == null) {
+			// without a version Spring Data would treat the user as a new entity
+			userRepository.findVersionById(user.getId()).ifPresent(user::setVersion);
+		}
+		User updatedUser = userRepository.save(user);
+		publishUserChanged(ChangeType.UPDATED, updatedUser.getId());
+
+		return updatedUser;
 	}
 
+	@Transactional
 	public void deleteUserById(Long userId) {
 		userRepository.delete(getUserById(userId));
+		publishUserChanged(ChangeType.DELETED, userId);
+	}
+
+	private void publishUserChanged(ChangeType changeType, Long userId) {
+		eventPublisher.publishEvent(
+			EntityChangedEvent.of(EntityType.USER, changeType, userId, null)
+		);
 	}
 }
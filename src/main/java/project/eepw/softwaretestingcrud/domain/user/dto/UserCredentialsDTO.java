@@ -0,0 +1,3 @@
+package project.eepw.softwaretestingcrud.domain.user.dto;
+
+public record UserCredentialsDTO(Long id, String password) {}
@@ -0,0 +1,10 @@
+package project.eepw.softwaretestingcrud.domain.user.dto;
+
+public record UserExportDTO(
+	Long id,
+	String name,
+	String surname,
+	String email,
+	String password,
+	Long version
+) {}
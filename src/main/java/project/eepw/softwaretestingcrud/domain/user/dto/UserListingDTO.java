@@ -0,0 +1,14 @@
+package project.eepw.softwaretestingcrud.domain.user.dto;
+
+/**
+ * Row of the user listings: the user without the eagerly mapped posts, which
+ * would otherwise be loaded with one query per listed user.
+ */
+public record UserListingDTO(
+	Long id,
+	String name,
+	String surname,
+	String email,
+	String password,
+	Long version
+) {}
@@ -0,0 +1,15 @@
+package project.eepw.softwaretestingcrud.domain.user.dto;
+
+import lombok.Builder;
+
+/**
+ * Activity counts of a user: written posts, written comments and comments
+ * received on the user's posts.
+ */
+@Builder(toBuilder = true)
+public record UserSummaryDTO(
+	Long userId,
+	Long postCount,
+	Long commentCount,
+	Long receivedCommentCount
+) {}
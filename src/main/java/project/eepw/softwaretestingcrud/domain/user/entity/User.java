@@ -6,8 +6,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -19,11 +22,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.OptimisticLock;
 import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
 import project.eepw.softwaretestingcrud.domain.post.entity.Post;
 import project.eepw.softwaretestingcrud.infrastructure.validation.validators.Password;
 
 @Entity(name = "users")
+@Table(indexes = @Index(name = "users_email_idx", columnList = "email"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -55,12 +60,17 @@ public class User {
 	@Size(max = 255)
 	private String password;
 
+	@Version
+	@EqualsAndHashCode.Exclude
+	private Long version;
+
 	@OneToMany(
 		mappedBy = "user",
 		fetch = FetchType.EAGER,
 		cascade = CascadeType.ALL
 	)
 	@EqualsAndHashCode.Exclude
+	@OptimisticLock(excluded = true)
 	@Builder.Default
 	private Set<Post> posts = new HashSet<>();
 
@@ -70,6 +80,7 @@ public class User {
 		cascade = CascadeType.ALL
 	)
 	@EqualsAndHashCode.Exclude
+	@OptimisticLock(excluded = true)
 	@Builder.Default
 	private Set<Comment> comments = new HashSet<>();
 }
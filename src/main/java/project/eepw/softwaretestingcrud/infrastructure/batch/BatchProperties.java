@@ -0,0 +1,21 @@
+package project.eepw.softwaretestingcrud.infrastructure.batch;
+
+import java.util.Collection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import project.eepw.softwaretestingcrud.infrastructure.exception.BatchSizeExceededException;
+
+@ConfigurationProperties(prefix = "app.batch")
+public record BatchProperties(@DefaultValue("100") int maxSize) {
+	public void checkSize(Collection<Long> ids) {
+		if (ids.size() > maxSize) {
+			throw new BatchSizeExceededException(
+				String.format(
+					"At most %d ids can be requested at once, got %d",
+					maxSize,
+					ids.size()
+				)
+			);
+		}
+	}
+}
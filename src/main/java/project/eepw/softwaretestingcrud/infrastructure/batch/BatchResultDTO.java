@@ -0,0 +1,38 @@
+package project.eepw.softwaretestingcrud.infrastructure.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a multi-get: the found items in the order of the requested ids
+ * and the ids that do not exist.
+ */
+public record BatchResultDTO<T>(List<T> items, List<Long> missingIds) {
+	public static <T> BatchResultDTO<T> of(
+		Collection<Long> requestedIds,
+		Collection<T> foundItems,
+		Function<T, Long> idExtractor
+	) {
+		Map<Long, T> itemsById = foundItems
+			.stream()
+			.collect(Collectors.toMap(idExtractor, Function.identity()));
+		List<T> items = new ArrayList<>(itemsById.size());
+		List<Long> missingIds = new ArrayList<>();
+
+		for (Long id : new LinkedHashSet<>(requestedIds)) {
+			T item = itemsById.get(id);
+			if (item != null) {
+				items.add(item);
+			} else {
+				missingIds.add(id);
+			}
+		}
+
+		return new BatchResultDTO<>(items, missingIds);
+	}
+}
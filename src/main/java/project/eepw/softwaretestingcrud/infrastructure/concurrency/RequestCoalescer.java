@@ -0,0 +1,85 @@
+package project.eepw.softwaretestingcrud.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collapses concurrent loads of the same key into a single call of the loader.
+ * The first caller runs the load, callers arriving while it is in flight wait
+ * for its result (or exception) instead of querying the database themselves.
+ * Nothing is kept once the load completes, so it works in front of the
+ * database as well as in front of a result cache.
+ *
+ * <p>A caller joining a load that started before its own write committed may
+ * observe the previous state, the same as if it had arrived slightly earlier.
+ */
+@Component
+public class RequestCoalescer {
+
+	private static final String REQUESTS_METRIC = "coalescer.requests";
+
+	private final ConcurrentMap<LoadKey, CompletableFuture<Object>> inFlightLoads =
+		new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+
+	public RequestCoalescer(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		Gauge
+			.builder("coalescer.in.flight", inFlightLoads, Map::size)
+			.description("Loads currently shared between concurrent requests")
+			.register(meterRegistry);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <V> V load(String name, Object key, Supplier<V> loader) {
+		LoadKey loadKey = new LoadKey(name, key);
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(
+			loadKey,
+			load
+		);
+		if (inFlightLoad != null) {
+			meterRegistry
+				.counter(REQUESTS_METRIC, "name", name, "result", "coalesced")
+				.increment();
+			return (V) join(inFlightLoad);
+		}
+
+		meterRegistry
+			.counter(REQUESTS_METRIC, "name", name, "result", "loaded")
+			.increment();
+		try {
+			V value = loader.get();
+			load.complete(value);
+			return value;
+		} catch (RuntimeException | Error exception) {
+			load.completeExceptionally(exception);
+			throw exception;
+		} finally {
+			inFlightLoads.remove(loadKey, load);
+		}
+	}
+
+	private static Object join(CompletableFuture<Object> inFlightLoad) {
+		try {
+			return inFlightLoad.join();
+		} catch (CompletionException exception) {
+			if (exception.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (exception.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw exception;
+		}
+	}
+
+	private record LoadKey(String name, Object key) {}
+}
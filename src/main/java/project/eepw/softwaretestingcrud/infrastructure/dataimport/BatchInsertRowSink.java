@@ -0,0 +1,72 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fallback for databases without COPY, e.g. H2 in tests: one prepared INSERT
+ * executed in JDBC batches.
+ */
+class BatchInsertRowSink implements RowSink {
+
+	private final PreparedStatement statement;
+	private final int batchSize;
+	private int pendingRows;
+	private long insertedRows;
+
+	BatchInsertRowSink(
+		Connection connection,
+		String table,
+		List<String> columns,
+		int batchSize
+	) throws SQLException {
+		this.statement =
+			connection.prepareStatement(
+				String.format(
+					"insert into %s (%s) values (%s)",
+					table,
+					String.join(", ", columns),
+					String.join(", ", Collections.nCopies(columns.size(), "?"))
+				)
+			);
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void write(List<Object> values) throws SQLException {
+		for (int column = 0; column < values.size(); column++) {
+			statement.setObject(column + 1, values.get(column));
+		}
+		statement.addBatch();
+		if (++pendingRows == batchSize) {
+			executeBatch();
+		}
+	}
+
+	@Override
+	public long finish() throws SQLException {
+		try (statement) {
+			executeBatch();
+		}
+
+		return insertedRows;
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		statement.close();
+	}
+
+	private void executeBatch() throws SQLException {
+		if (pendingRows == 0) {
+			return;
+		}
+
+		statement.executeBatch();
+		insertedRows += pendingRows;
+		pendingRows = 0;
+	}
+}
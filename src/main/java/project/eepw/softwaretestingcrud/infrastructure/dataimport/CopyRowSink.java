@@ -0,0 +1,81 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams the rows into a PostgreSQL COPY ... FROM STDIN in CSV format. Text
+ * values are always quoted, an unquoted empty field is read as NULL.
+ */
+class CopyRowSink implements RowSink {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final CopyIn copyIn;
+	private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+	CopyRowSink(Connection connection, String table, List<String> columns)
+		throws SQLException {
+		this.copyIn =
+			connection
+				.unwrap(PGConnection.class)
+				.getCopyAPI()
+				.copyIn(
+					String.format(
+						"COPY %s (%s) FROM STDIN WITH (FORMAT csv)",
+						table,
+						String.join(", ", columns)
+					)
+				);
+	}
+
+	@Override
+	public void write(List<Object> values) throws SQLException {
+		for (int column = 0; column < values.size(); column++) {
+			if (column > 0) {
+				buffer.append(',');
+			}
+			appendField(values.get(column));
+		}
+		buffer.append('\n');
+		if (buffer.length() >= BUFFER_SIZE) {
+			flush();
+		}
+	}
+
+	@Override
+	public long finish() throws SQLException {
+		flush();
+
+		return copyIn.endCopy();
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		if (copyIn.isActive()) {
+			copyIn.cancelCopy();
+		}
+	}
+
+	private void appendField(Object value) {
+		if (value == null) {
+			return;
+		}
+		if (value instanceof String text) {
+			buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+			return;
+		}
+
+		buffer.append(value);
+	}
+
+	private void flush() throws SQLException {
+		byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+		copyIn.writeToCopy(bytes, 0, bytes.length);
+		buffer.setLength(0);
+	}
+}
@@ -0,0 +1,27 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the database on startup, e.g. with
+ * {@code --app.import.directory=/seed}. Unlike the export the application
+ * keeps running afterwards: with ddl-auto create-drop a shutdown would drop
+ * the imported data again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.import", name = "directory")
+@RequiredArgsConstructor
+class DataImportRunner implements ApplicationRunner {
+
+	private final DataImporter dataImporter;
+	private final ImportProperties importProperties;
+
+	@Override
+	public void run(ApplicationArguments arguments) throws Exception {
+		dataImporter.importAll(importProperties.directory());
+	}
+}
@@ -0,0 +1,368 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads users, posts and comments files in the layout written by the export
+ * ({@code <table>.ndjson} or {@code <table>.csv}) with PostgreSQL COPY, or
+ * with batched inserts on other databases. The rows get fresh ids drawn from
+ * the tables' sequences, foreign keys are translated through in-memory maps of
+ * the imported user and post ids and rows referencing a user or post missing
+ * from the import are skipped. Users exported without passwords get an empty
+ * one, which no login accepts, until it is reset. Everything is loaded in one
+ * transaction.
+ */
+@Component
+@Slf4j
+class DataImporter {
+
+	private static final String POSTGRESQL = "PostgreSQL";
+	private static final int ID_FETCH_SIZE = 1000;
+	private static final List<String> USER_COLUMNS = List.of(
+		"id",
+		"name",
+		"surname",
+		"email",
+		"password",
+		"version"
+	);
+	private static final List<String> POST_COLUMNS = List.of(
+		"id",
+		"user_id",
+		"content",
+		"comment_count",
+		"version"
+	);
+	private static final List<String> COMMENT_COLUMNS = List.of(
+		"id",
+		"post_id",
+		"author_id",
+		"content",
+		"version"
+	);
+
+	private final DataSource dataSource;
+	private final ObjectMapper objectMapper;
+	private final CsvMapper csvMapper = new CsvMapper();
+	private final int batchSize;
+
+	DataImporter(
+		DataSource dataSource,
+		ObjectMapper objectMapper,
+		ImportProperties importProperties
+	) {
+		this.dataSource = dataSource;
+		this.objectMapper = objectMapper;
+		this.batchSize = importProperties.batchSize();
+	}
+
+	/**
+	 * Imports the files found in the directory and returns the number of
+	 * imported rows by table name.
+	 */
+	Map<String, Long> importAll(Path directory)
+		throws IOException, SQLException {
+		Map<String, Long> importedRows = new LinkedHashMap<>();
+		Map<Long, Long> userIds = new HashMap<>();
+		Map<Long, Long> postIds = new HashMap<>();
+
+		try (Connection connection = dataSource.getConnection()) {
+			boolean postgres = POSTGRESQL.equals(
+				connection.getMetaData().getDatabaseProductName()
+			);
+			connection.setAutoCommit(false);
+			try {
+				importedRows.put(
+					"users",
+					importTable(
+						connection,
+						postgres,
+						directory,
+						"users",
+						USER_COLUMNS,
+						(row, id) -> {
+							userIds.put(longValue(row, "id"), id);
+							return Arrays.asList(
+								id,
+								textValue(row, "name"),
+								textValue(row, "surname"),
+								textValue(row, "email"),
+								Objects.requireNonNullElse(textValue(row, "password"), ""),
+								longValue(row, "version", 0)
+							);
+						}
+					)
+				);
+				importedRows.put(
+					"posts",
+					importTable(
+						connection,
+						postgres,
+						directory,
+						"posts",
+						POST_COLUMNS,
+						(row, id) -> {
+							Long userId = userIds.get(longValue(row, "user_id"));
+							if (userId == null) {
+								return null;
+							}
+
+							postIds.put(longValue(row, "id"), id);
+							return Arrays.asList(
+								id,
+								userId,
+								textValue(row, "content"),
+								longValue(row, "comment_count", 0),
+								longValue(row, "version", 0)
+							);
+						}
+					)
+				);
+				importedRows.put(
+					"comments",
+					importTable(
+						connection,
+						postgres,
+						directory,
+						"comments",
+						COMMENT_COLUMNS,
+						(row, id) -> {
+							Long postId = postIds.get(longValue(row, "post_id"));
+							Long authorId = userIds.get(longValue(row, "author_id"));
+							if (postId == null || authorId == null) {
+								return null;
+							}
+
+							return Arrays.asList(
+								id,
+								postId,
+								authorId,
+								textValue(row, "content"),
+								longValue(row, "version", 0)
+							);
+						}
+					)
+				);
+				connection.commit();
+			} catch (IOException | SQLException | RuntimeException exception) {
+				connection.rollback();
+				throw exception;
+			}
+		}
+
+		return importedRows;
+	}
+
+	private long importTable(
+		Connection connection,
+		boolean postgres,
+		Path directory,
+		String table,
+		List<String> columns,
+		RowMapper rowMapper
+	) throws IOException, SQLException {
+		Path file = findFile(directory, table);
+		if (file == null) {
+			log.info("Nothing to import into {}, no file in {}", table, directory);
+			return 0;
+		}
+
+		long start = System.nanoTime();
+		long[] ids = reserveIds(connection, postgres, table, countRows(file));
+		int nextId = 0;
+		long skippedRows = 0;
+		RowSink sink = postgres
+			? new CopyRowSink(connection, table, columns)
+			: new BatchInsertRowSink(connection, table, columns, batchSize);
+		long importedRows;
+		try (MappingIterator<Map<String, Object>> rows = readRows(file)) {
+			while (rows.hasNextValue()) {
+				List<Object> values = rowMapper.map(rows.nextValue(), ids[nextId]);
+				if (values == null) {
+					skippedRows++;
+					continue;
+				}
+
+				sink.write(values);
+				nextId++;
+			}
+			importedRows = sink.finish();
+		} catch (IOException | SQLException | RuntimeException exception) {
+			sink.cancel();
+			throw exception;
+		}
+
+		double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+		log.info(
+			"Imported {} rows into {} from {} in {} s ({} rows/s), skipped {} rows with unresolved references",
+			importedRows,
+			table,
+			file,
+			String.format("%.2f", seconds),
+			Math.round(importedRows / seconds),
+			skippedRows
+		);
+
+		return importedRows;
+	}
+
+	private MappingIterator<Map<String, Object>> readRows(Path file)
+		throws IOException {
+		if (file.getFileName().toString().endsWith(".csv")) {
+			return csvMapper
+				.readerFor(Map.class)
+				.with(CsvSchema.emptySchema().withHeader())
+				.readValues(file.toFile());
+		}
+
+		return objectMapper.readerFor(Map.class).readValues(file.toFile());
+	}
+
+	private int countRows(Path file) throws IOException {
+		int rowCount = 0;
+		try (MappingIterator<Map<String, Object>> rows = readRows(file)) {
+			while (rows.hasNextValue()) {
+				rows.nextValue();
+				rowCount++;
+			}
+		}
+
+		return rowCount;
+	}
+
+	/**
+	 * Draws the ids of the rows from the table's sequence before any row is
+	 * written, a running COPY keeps the connection busy until it ends. The
+	 * sequence never hands them out again, so the imported rows cannot collide
+	 * with rows created meanwhile, e.g. by the comment write-behind, and a
+	 * rolled back import only leaves a gap. All entities use an allocation size
+	 * of 1, nothing caches ids ahead of the sequence.
+	 */
+	private static long[] reserveIds(
+		Connection connection,
+		boolean postgres,
+		String table,
+		int rowCount
+	) throws SQLException {
+		long maxId = maxId(connection, table);
+		long[] ids = drawIds(connection, postgres, table, rowCount);
+		// rows created meanwhile only have ids above the drawn ones, a drawn id
+		// not above maxId means rows inserted with explicit ids left the
+		// sequence behind, it is moved forward past them
+		if (Arrays.stream(ids).anyMatch(id -> id <= maxId)) {
+			String sequenceRestart = postgres
+				? "select setval('%s_seq', %d, false)"
+				: "alter sequence %s_seq restart with %d";
+			try (Statement statement = connection.createStatement()) {
+				statement.execute(String.format(sequenceRestart, table, maxId + 1));
+			}
+			ids = drawIds(connection, postgres, table, rowCount);
+		}
+
+		return ids;
+	}
+
+	private static long[] drawIds(
+		Connection connection,
+		boolean postgres,
+		String table,
+		int count
+	) throws SQLException {
+		String nextValues = postgres
+			? "select nextval('%s_seq') from generate_series(1, %d)"
+			: "select next value for %s_seq from system_range(1, %d)";
+		long[] ids = new long[count];
+		try (Statement statement = connection.createStatement()) {
+			statement.setFetchSize(ID_FETCH_SIZE);
+			try (
+				ResultSet resultSet = statement.executeQuery(
+					String.format(nextValues, table, count)
+				)
+			) {
+				for (int i = 0; i < count && resultSet.next(); i++) {
+					ids[i] = resultSet.getLong(1);
+				}
+			}
+		}
+
+		return ids;
+	}
+
+	private static Path findFile(Path directory, String table) {
+		for (String extension : List.of(".ndjson", ".csv")) {
+			Path file = directory.resolve(table + extension);
+			if (Files.isRegularFile(file)) {
+				return file;
+			}
+		}
+
+		return null;
+	}
+
+	private static long maxId(Connection connection, String table)
+		throws SQLException {
+		try (
+			Statement statement = connection.createStatement();
+			ResultSet resultSet = statement.executeQuery(
+				String.format("select coalesce(max(id), 0) from %s", table)
+			)
+		) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		}
+	}
+
+	private static String textValue(Map<String, Object> row, String column) {
+		Object value = row.get(column);
+
+		return value == null ? null : value.toString();
+	}
+
+	private static Long longValue(Map<String, Object> row, String column) {
+		Object value = row.get(column);
+		if (value instanceof Number number) {
+			return number.longValue();
+		}
+		if (value == null || value.toString().isEmpty()) {
+			return null;
+		}
+
+		return Long.valueOf(value.toString());
+	}
+
+	private static long longValue(
+		Map<String, Object> row,
+		String column,
+		long defaultValue
+	) {
+		return Objects.requireNonNullElse(longValue(row, column), defaultValue);
+	}
+
+	/**
+	 * Values of the row to store under the given id in column order, or null
+	 * to skip the row.
+	 */
+	@FunctionalInterface
+	private interface RowMapper {
+		List<Object> map(Map<String, Object> row, long id);
+	}
+}
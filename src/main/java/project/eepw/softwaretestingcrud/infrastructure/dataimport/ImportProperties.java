@@ -0,0 +1,13 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Setting 'directory' imports its users, posts and comments files on startup,
+ * see {@link DataImportRunner}. 'batch-size' only applies to the batched
+ * inserts used instead of COPY on databases other than PostgreSQL.
+ */
+@ConfigurationProperties(prefix = "app.import")
+record ImportProperties(Path directory, @DefaultValue("1000") int batchSize) {}
@@ -0,0 +1,18 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Destination of the rows of one table, values come in column order.
+ */
+interface RowSink {
+	void write(List<Object> values) throws SQLException;
+
+	/**
+	 * Writes what is still buffered and returns the number of stored rows.
+	 */
+	long finish() throws SQLException;
+
+	void cancel() throws SQLException;
+}
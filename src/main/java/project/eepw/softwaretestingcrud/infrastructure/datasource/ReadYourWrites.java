@@ -0,0 +1,26 @@
+package project.eepw.softwaretestingcrud.infrastructure.datasource;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Client the current thread works for, used to keep the reads of a client
+ * that has just written on the primary.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ReadYourWrites {
+
+	private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+	static String currentClient() {
+		return CURRENT_CLIENT.get();
+	}
+
+	static void bind(String clientKey) {
+		CURRENT_CLIENT.set(clientKey);
+	}
+
+	static void unbind() {
+		CURRENT_CLIENT.remove();
+	}
+}
@@ -0,0 +1,33 @@
+package project.eepw.softwaretestingcrud.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Identifies the client of a request by its session token, or by its remote
+ * address when it has none.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		FilterChain filterChain
+	) throws ServletException, IOException {
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		ReadYourWrites.bind(
+			authorization != null ? authorization : request.getRemoteAddr()
+		);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReadYourWrites.unbind();
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package project.eepw.softwaretestingcrud.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import project.eepw.softwaretestingcrud.infrastructure.datasource.ReplicaRoutingProperties.Replica;
+
+/**
+ * Replaces the auto-configured DataSource with a primary and its replicas when
+ * app.datasource.routing.enabled is set. The primary is configured through
+ * spring.datasource as before, including spring.datasource.hikari.
+ */
+@Configuration
+@ConditionalOnProperty(
+	name = "app.datasource.routing.enabled",
+	havingValue = "true"
+)
+class ReplicaRoutingConfiguration {
+
+	@Bean
+	@ConfigurationProperties(prefix = "spring.datasource.hikari")
+	HikariDataSource primaryDataSource(
+		DataSourceProperties dataSourceProperties,
+		ObjectProvider<JdbcConnectionDetails> connectionDetails
+	) {
+		JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+		if (details == null) {
+			return dataSourceProperties
+				.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		}
+
+		return DataSourceBuilder
+			.create()
+			.type(HikariDataSource.class)
+			.driverClassName(details.getDriverClassName())
+			.url(details.getJdbcUrl())
+			.username(details.getUsername())
+			.password(details.getPassword())
+			.build();
+	}
+
+	@Bean
+	ReplicaRoutingDataSource replicaRoutingDataSource(
+		HikariDataSource primaryDataSource,
+		ReplicaRoutingProperties replicaRoutingProperties,
+		MeterRegistry meterRegistry
+	) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		List<Replica> configuredReplicas = replicaRoutingProperties.replicas();
+		for (int index = 0; index < configuredReplicas.size(); index++) {
+			Replica replica = configuredReplicas.get(index);
+			HikariDataSource replicaDataSource = DataSourceBuilder
+				.create()
+				.type(HikariDataSource.class)
+				.url(replica.url())
+				.username(replica.username())
+				.password(replica.password())
+				.build();
+			replicaDataSource.setPoolName("replica-" + index);
+			replicaDataSource.setReadOnly(true);
+			replicas.put(replicaDataSource.getPoolName(), replicaDataSource);
+		}
+
+		return new ReplicaRoutingDataSource(
+			primaryDataSource,
+			replicas,
+			replicaRoutingProperties,
+			meterRegistry
+		);
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+	/**
+	 * Hibernate holds a connection for the whole session by default, with open
+	 * session in view a read-only transaction would leave later writes of the
+	 * same request on the replica connection it picked.
+	 */
+	@Bean
+	HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+		return properties ->
+			properties.put(
+				AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+			);
+	}
+
+	@Bean
+	FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		FilterRegistrationBean<ReadYourWritesFilter> registration =
+			new FilterRegistrationBean<>(new ReadYourWritesFilter());
+		registration.addUrlPatterns("/api/*");
+
+		return registration;
+	}
+}
@@ -0,0 +1,167 @@
+package project.eepw.softwaretestingcrud.infrastructure.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a replica that is caught up within the
+ * allowed lag, round robin, and everything else to the primary. Reads of a
+ * client that wrote within the stickiness window go to the primary too.
+ * Has to sit behind a LazyConnectionDataSourceProxy: a transaction is only
+ * marked read-only after it began, so the target connection may be picked
+ * no earlier than its first statement.
+ */
+@Slf4j
+class ReplicaRoutingDataSource
+	extends AbstractRoutingDataSource
+	implements AutoCloseable {
+
+	static final String PRIMARY = "primary";
+
+	// a standby that replayed everything it received is not lagging, however
+	// long ago its last replayed transaction was
+	private static final String LAG_QUERY =
+		"""
+		select case
+			when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+			else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+		end
+		""";
+
+	private final List<Replica> replicas;
+	private final double maxLagSeconds;
+	private final Cache<String, Boolean> recentWriters;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	ReplicaRoutingDataSource(
+		DataSource primary,
+		Map<String, DataSource> replicaDataSources,
+		ReplicaRoutingProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		Map<Object, Object> targetDataSources = new HashMap<>(
+			replicaDataSources
+		);
+		targetDataSources.put(PRIMARY, primary);
+		setTargetDataSources(targetDataSources);
+		setDefaultTargetDataSource(primary);
+
+		this.replicas =
+			replicaDataSources
+				.entrySet()
+				.stream()
+				.map(replica -> new Replica(replica.getKey(), replica.getValue()))
+				.toList();
+		this.maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+		this.recentWriters =
+			Caffeine
+				.newBuilder()
+				.expireAfterWrite(properties.stickiness())
+				.build();
+		replicas.forEach(replica ->
+			Gauge
+				.builder("datasource.replica.lag", replica, Replica::lagSeconds)
+				.description("Replay lag of the replica in seconds")
+				.tag("replica", replica.name())
+				.register(meterRegistry)
+		);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		checkReplicaLag();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		String client = ReadYourWrites.currentClient();
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (
+				client != null &&
+				TransactionSynchronizationManager.isActualTransactionActive()
+			) {
+				recentWriters.put(client, Boolean.TRUE);
+			}
+			return PRIMARY;
+		}
+		if (client != null && recentWriters.getIfPresent(client) != null) {
+			return PRIMARY;
+		}
+
+		for (int attempt = 0; attempt < replicas.size(); attempt++) {
+			Replica replica = replicas.get(
+				Math.floorMod(nextReplica.getAndIncrement(), replicas.size())
+			);
+			if (replica.lagSeconds() <= maxLagSeconds) {
+				return replica.name();
+			}
+		}
+
+		return PRIMARY;
+	}
+
+	@Scheduled(
+		fixedDelayString = "${app.datasource.routing.lag-check-interval:PT1S}"
+	)
+	public void checkReplicaLag() {
+		replicas.forEach(Replica::checkLag);
+	}
+
+	@Override
+	public void close() throws Exception {
+		for (Replica replica : replicas) {
+			if (replica.dataSource() instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+
+	private static final class Replica {
+
+		private final String name;
+		private final DataSource dataSource;
+		private final JdbcTemplate jdbcTemplate;
+		private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+		private Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+			this.jdbcTemplate = new JdbcTemplate(dataSource);
+		}
+
+		private void checkLag() {
+			try {
+				lagSeconds = jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+			} catch (DataAccessException exception) {
+				lagSeconds = Double.POSITIVE_INFINITY;
+				log.warn("Could not check the lag of replica [{}]", name, exception);
+			}
+		}
+
+		private String name() {
+			return name;
+		}
+
+		private DataSource dataSource() {
+			return dataSource;
+		}
+
+		private double lagSeconds() {
+			return lagSeconds;
+		}
+	}
+}
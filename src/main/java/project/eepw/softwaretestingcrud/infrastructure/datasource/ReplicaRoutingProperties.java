@@ -0,0 +1,21 @@
+package project.eepw.softwaretestingcrud.infrastructure.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Replicas read-only transactions may be routed to once
+ * app.datasource.routing.enabled is set. A replica lagging more than
+ * 'max-lag' behind the primary is skipped, a client that wrote within
+ * 'stickiness' keeps reading from the primary.
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+record ReplicaRoutingProperties(
+	@DefaultValue List<Replica> replicas,
+	@DefaultValue("PT5S") Duration maxLag,
+	@DefaultValue("PT5S") Duration stickiness
+) {
+	record Replica(String url, String username, String password) {}
+}
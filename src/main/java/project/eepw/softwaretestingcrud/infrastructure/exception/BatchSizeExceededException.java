@@ -0,0 +1,12 @@
+package project.eepw.softwaretestingcrud.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class BatchSizeExceededException extends RuntimeException {
+
+	public BatchSizeExceededException(String message) {
+		super(message);
+	}
+}
@@ -1,10 +1,6 @@
 package project.eepw.softwaretestingcrud.infrastructure.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(code = HttpStatus.NOT_FOUND)
-public class CommentNotFoundException extends RuntimeException {
+public class CommentNotFoundException extends NotFoundException {
 
 	public CommentNotFoundException(String message) {
 		super(message);
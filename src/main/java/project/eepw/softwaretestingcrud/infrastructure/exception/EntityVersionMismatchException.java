@@ -0,0 +1,12 @@
+package project.eepw.softwaretestingcrud.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.PRECONDITION_FAILED)
+public class EntityVersionMismatchException extends RuntimeException {
+
+	public EntityVersionMismatchException(String message) {
+		super(message);
+	}
+}
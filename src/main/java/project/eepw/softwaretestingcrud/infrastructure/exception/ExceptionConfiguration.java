@@ -5,10 +5,11 @@ import jakarta.validation.ConstraintViolationException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.ObjectError;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -25,10 +26,13 @@ class ExceptionConfiguration {
 			.stream()
 			.collect(
 				Collectors.toMap(
-					ObjectError::getObjectName,
-					Objects.requireNonNull(
-						DefaultMessageSourceResolvable::getDefaultMessage
-					)
+					error ->
+						error instanceof FieldError fieldError
+							? fieldError.getField()
+							: error.getObjectName(),
+					error ->
+						Objects.requireNonNullElse(error.getDefaultMessage(), ""),
+					ExceptionConfiguration::joinMessages
 				)
 			);
 
@@ -45,10 +49,43 @@ class ExceptionConfiguration {
 			.collect(
 				Collectors.toMap(
 					error -> error.getPropertyPath().toString(),
-					ConstraintViolation::getMessage
+					ConstraintViolation::getMessage,
+					ExceptionConfiguration::joinMessages
 				)
 			);
 
 		return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
 	}
+
+	/**
+	 * Answers every miss with the same problem document directly, without the
+	 * error page dispatch a {@code @ResponseStatus} exception would go through.
+	 */
+	@ExceptionHandler(NotFoundException.class)
+	public ProblemDetail handleNotFoundException(
+		NotFoundException notFoundException
+	) {
+		return ProblemDetail.forStatusAndDetail(
+			HttpStatus.NOT_FOUND,
+			notFoundException.getMessage()
+		);
+	}
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(
+		OptimisticLockingFailureException optimisticLockingFailureException
+	) {
+		return new ResponseEntity<>(
+			Map.of(
+				"version",
+				"Resource has been modified concurrently, reload it and retry"
+			),
+			HttpStatus.CONFLICT
+		);
+	}
+
+	// a field can break several constraints at once, e.g. @NotNull and @Password
+	private static String joinMessages(String first, String second) {
+		return first + "; " + second;
+	}
 }
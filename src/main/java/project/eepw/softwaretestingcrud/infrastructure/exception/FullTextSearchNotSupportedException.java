@@ -0,0 +1,12 @@
+package project.eepw.softwaretestingcrud.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.NOT_IMPLEMENTED)
+public class FullTextSearchNotSupportedException extends RuntimeException {
+
+	public FullTextSearchNotSupportedException(String message) {
+		super(message);
+	}
+}
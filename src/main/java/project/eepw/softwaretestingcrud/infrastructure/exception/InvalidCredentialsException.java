@@ -0,0 +1,12 @@
+package project.eepw.softwaretestingcrud.infrastructure.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.UNAUTHORIZED)
+public class InvalidCredentialsException extends RuntimeException {
+
+	public InvalidCredentialsException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,13 @@
+package project.eepw.softwaretestingcrud.infrastructure.exception;
+
+/**
+ * Base of the exceptions thrown when a requested entity does not exist. A miss
+ * is an expected outcome, not a failure, so these skip the stack trace capture
+ * that would otherwise dominate the cost of answering a 404.
+ */
+public abstract class NotFoundException extends RuntimeException {
+
+	protected NotFoundException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -0,0 +1,31 @@
+package project.eepw.softwaretestingcrud.infrastructure.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off export command for the nightly job, e.g.
+ * {@code java -jar app.jar --app.export.directory=/exports
+ * --app.export.format=csv --spring.main.web-application-type=none}. The
+ * application shuts down once all tables are written.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.export", name = "directory")
+@RequiredArgsConstructor
+class DataExportRunner implements ApplicationRunner {
+
+	private final DataExporter dataExporter;
+	private final ExportProperties exportProperties;
+	private final ConfigurableApplicationContext applicationContext;
+
+	@Override
+	public void run(ApplicationArguments arguments) throws Exception {
+		dataExporter.exportAll(exportProperties.directory());
+		SpringApplication.exit(applicationContext);
+	}
+}
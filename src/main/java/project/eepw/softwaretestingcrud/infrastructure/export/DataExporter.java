@@ -0,0 +1,226 @@
+package project.eepw.softwaretestingcrud.infrastructure.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.eepw.softwaretestingcrud.domain.comment.data.CommentService;
+import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
+import project.eepw.softwaretestingcrud.domain.post.data.PostService;
+import project.eepw.softwaretestingcrud.domain.post.entity.Post;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserExportDTO;
+import project.eepw.softwaretestingcrud.infrastructure.export.ExportProperties.Format;
+
+/**
+ * Writes users, posts and comments row by row while reading them from
+ * repository streams. Each table is read in one read-only transaction, so on
+ * PostgreSQL the connection runs with autocommit off and the fetch size hint
+ * of the stream methods turns the query into a server-side cursor instead of a
+ * fully buffered result set. Posts and comments are read as entities, the
+ * persistence context is cleared every clear-interval rows to keep memory
+ * flat. Passwords are stored in plain text, so the users file leaves them out
+ * unless 'include-passwords' is set.
+ */
+@Component
+@Slf4j
+public class DataExporter {
+
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final ExportProperties exportProperties;
+	private final List<ExportTable<?>> tables;
+
+	DataExporter(
+		EntityManager entityManager,
+		PlatformTransactionManager transactionManager,
+		ObjectMapper objectMapper,
+		ExportProperties exportProperties,
+		UserService userService,
+		PostService postService,
+		CommentService commentService
+	) {
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.objectMapper = objectMapper;
+		this.exportProperties = exportProperties;
+		this.tables =
+			List.of(
+				exportProperties.includePasswords()
+					? new ExportTable<>(
+						"users",
+						List.of("id", "name", "surname", "email", "password", "version"),
+						userService::streamAllUsers,
+						(UserExportDTO user) ->
+							Arrays.asList(
+								user.id(),
+								user.name(),
+								user.surname(),
+								user.email(),
+								user.password(),
+								user.version()
+							)
+					)
+					: new ExportTable<>(
+						"users",
+						List.of("id", "name", "surname", "email", "version"),
+						userService::streamAllUsers,
+						(UserExportDTO user) ->
+							Arrays.asList(
+								user.id(),
+								user.name(),
+								user.surname(),
+								user.email(),
+								user.version()
+							)
+					),
+				new ExportTable<>(
+					"posts",
+					List.of("id", "user_id", "content", "comment_count", "version"),
+					postService::streamAllPosts,
+					(Post post) ->
+						Arrays.asList(
+							post.getId(),
+							post.getUser().getId(),
+							post.getContent(),
+							post.getCommentCount(),
+							post.getVersion()
+						)
+				),
+				new ExportTable<>(
+					"comments",
+					List.of("id", "post_id", "author_id", "content", "version"),
+					commentService::streamAllComments,
+					(Comment comment) ->
+						Arrays.asList(
+							comment.getId(),
+							comment.getPost().getId(),
+							comment.getAuthor().getId(),
+							comment.getContent(),
+							comment.getVersion()
+						)
+				)
+			);
+	}
+
+	/**
+	 * Exports every table into its own file in the directory and returns the
+	 * number of exported rows by table name.
+	 */
+	public Map<String, Long> exportAll(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Map<String, Long> exportedRows = new LinkedHashMap<>();
+		for (ExportTable<?> table : tables) {
+			Path file = directory.resolve(
+				exportProperties.format().fileName(table.name())
+			);
+			long start = System.nanoTime();
+			long rows = export(table, file);
+			double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+			log.info(
+				"Exported {} rows of {} to {} in {} s ({} rows/s)",
+				rows,
+				table.name(),
+				file,
+				String.format("%.2f", seconds),
+				Math.round(rows / seconds)
+			);
+			exportedRows.put(table.name(), rows);
+		}
+
+		return exportedRows;
+	}
+
+	private <T> long export(ExportTable<T> table, Path file) throws IOException {
+		try (
+			BufferedWriter writer = Files.newBufferedWriter(
+				file,
+				StandardCharsets.UTF_8
+			)
+		) {
+			if (exportProperties.format() == Format.CSV) {
+				writeCsvLine(writer, table.columns());
+			}
+
+			Long rows = transactionTemplate.execute(status -> {
+				long writtenRows = 0;
+				try (Stream<T> stream = table.rows().get()) {
+					Iterator<T> iterator = stream.iterator();
+					while (iterator.hasNext()) {
+						writeRow(writer, table, iterator.next());
+						if (++writtenRows % exportProperties.clearInterval() == 0) {
+							entityManager.clear();
+						}
+					}
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+
+				return writtenRows;
+			});
+
+			return rows == null ? 0 : rows;
+		}
+	}
+
+	private <T> void writeRow(Writer writer, ExportTable<T> table, T row)
+		throws IOException {
+		List<Object> values = table.values().apply(row);
+		if (exportProperties.format() == Format.CSV) {
+			writeCsvLine(writer, values);
+			return;
+		}
+
+		Map<String, Object> record = new LinkedHashMap<>();
+		for (int column = 0; column < values.size(); column++) {
+			record.put(table.columns().get(column), values.get(column));
+		}
+		writer.write(objectMapper.writeValueAsString(record));
+		writer.write('\n');
+	}
+
+	private static void writeCsvLine(Writer writer, List<?> values)
+		throws IOException {
+		writer.write(
+			values
+				.stream()
+				.map(DataExporter::toCsvField)
+				.collect(Collectors.joining(","))
+		);
+		writer.write('\n');
+	}
+
+	private static String toCsvField(Object value) {
+		if (value == null) {
+			return "";
+		}
+
+		String field = value.toString();
+		boolean needsQuoting = field
+			.chars()
+			.anyMatch(character -> ",\"\r\n".indexOf(character) >= 0);
+		if (!needsQuoting) {
+			return field;
+		}
+
+		return '"' + field.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,27 @@
+package project.eepw.softwaretestingcrud.infrastructure.export;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Setting 'directory' runs the export on startup, see {@link DataExportRunner}.
+ * The persistence context is cleared every 'clear-interval' rows. User
+ * passwords are only written with 'include-passwords' set.
+ */
+@ConfigurationProperties(prefix = "app.export")
+record ExportProperties(
+	Path directory,
+	@DefaultValue("ndjson") Format format,
+	@DefaultValue("1000") int clearInterval,
+	@DefaultValue("false") boolean includePasswords
+) {
+	enum Format {
+		CSV,
+		NDJSON;
+
+		String fileName(String table) {
+			return table + '.' + name().toLowerCase();
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package project.eepw.softwaretestingcrud.infrastructure.export;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exported columns of one table and the cursor they are read from, the
+ * supplied stream has to be opened inside the export transaction.
+ */
+record ExportTable<T>(
+	String name,
+	List<String> columns,
+	Supplier<Stream<T>> rows,
+	Function<T, List<Object>> values
+) {}
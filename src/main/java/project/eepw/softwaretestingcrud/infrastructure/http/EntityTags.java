@@ -0,0 +1,62 @@
+package project.eepw.softwaretestingcrud.infrastructure.http;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import project.eepw.softwaretestingcrud.infrastructure.exception.EntityVersionMismatchException;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntityTags {
+
+	private static final Pattern VERSION_TAG = Pattern.compile(
+		"^(?:W/)?\"v(\\d+)(?:-c\\d+)?\"$"
+	);
+
+	public static String ofVersion(Long version) {
+		return String.format("\"v%d\"", version);
+	}
+
+	/**
+	 * Tag of an entity carrying a maintained comment counter. The counter moves
+	 * without touching the version, so both have to be part of the tag.
+	 */
+	public static String ofVersion(Long version, Long commentCount) {
+		return String.format("\"v%d-c%d\"", version, commentCount);
+	}
+
+	/**
+	 * Tag of a collection representation. Additions and removals change the
+	 * count or the highest id (ids only grow), modifications change the sum of
+	 * the element versions and comments the sum of the comment counters.
+	 */
+	public static String ofCollection(VersionStamp versionStamp) {
+		return String.format(
+			"\"c%d-%d-%d-%d\"",
+			versionStamp.count(),
+			versionStamp.maxId(),
+			versionStamp.versionSum(),
+			versionStamp.commentCountSum()
+		);
+	}
+
+	/**
+	 * Version required by an If-Match header, or null when the header is absent
+	 * or matches any version. A comment counter suffix is ignored, concurrent
+	 * comments do not conflict with an update of the entity itself.
+	 */
+	public static Long parseVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+
+		Matcher matcher = VERSION_TAG.matcher(ifMatch.trim());
+		if (!matcher.matches()) {
+			throw new EntityVersionMismatchException(
+				String.format("Tag %s does not match the current version", ifMatch)
+			);
+		}
+
+		return Long.valueOf(matcher.group(1));
+	}
+}
@@ -0,0 +1,34 @@
+package project.eepw.softwaretestingcrud.infrastructure.http;
+
+import java.util.Arrays;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reads the Prefer header (RFC 7240). A request may send several headers and
+ * several comma separated preferences per header, each with optional
+ * parameters after ';', so the header never has to match one value exactly.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Preferences {
+
+	public static final String PREFER = "Prefer";
+	public static final String PREFERENCE_APPLIED = "Preference-Applied";
+	public static final String RESPOND_ASYNC = "respond-async";
+
+	public static boolean contains(
+		List<String> preferHeaders,
+		String preference
+	) {
+		if (preferHeaders == null) {
+			return false;
+		}
+
+		return preferHeaders
+			.stream()
+			.flatMap(header -> Arrays.stream(header.split(",")))
+			.map(token -> token.split("[;=]", 2)[0].trim())
+			.anyMatch(preference::equalsIgnoreCase);
+	}
+}
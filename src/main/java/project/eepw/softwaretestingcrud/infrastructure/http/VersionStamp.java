@@ -0,0 +1,13 @@
+package project.eepw.softwaretestingcrud.infrastructure.http;
+
+/**
+ * Summary of a collection that changes whenever its representation does. The
+ * maintained comment counters move without touching the versions, so they are
+ * summed separately.
+ */
+public record VersionStamp(
+	Long count,
+	Long maxId,
+	Long versionSum,
+	Long commentCountSum
+) {}
@@ -0,0 +1,61 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Shares stored responses between instances through the idempotency_records
+ * table. Expired records are ignored on lookup and deleted periodically.
+ */
+@Slf4j
+class DatabaseIdempotencyStore implements IdempotencyStore {
+
+	private final IdempotencyRecordRepository idempotencyRecordRepository;
+	private final Duration ttl;
+
+	DatabaseIdempotencyStore(
+		IdempotencyRecordRepository idempotencyRecordRepository,
+		Duration ttl
+	) {
+		this.idempotencyRecordRepository = idempotencyRecordRepository;
+		this.ttl = ttl;
+	}
+
+	@Override
+	public Optional<IdempotentResponse> find(String key) {
+		Instant expiredBefore = Instant.now().minus(ttl);
+
+		return idempotencyRecordRepository
+			.findById(key)
+			.filter(record -> record.getStoredAt().isAfter(expiredBefore))
+			.map(IdempotencyRecord::toResponse);
+	}
+
+	@Override
+	public void save(String key, IdempotentResponse response) {
+		try {
+			idempotencyRecordRepository.save(IdempotencyRecord.from(key, response));
+		} catch (DataIntegrityViolationException exception) {
+			log.warn(
+				"Could not store response for idempotency key=[{}]",
+				key,
+				exception
+			);
+		}
+	}
+
+	@Scheduled(
+		initialDelayString = "${app.idempotency.cleanup.initial-delay:PT10M}",
+		fixedDelayString = "${app.idempotency.cleanup.delay:PT1H}"
+	)
+	public void deleteExpiredRecords() {
+		int deletedRecords = idempotencyRecordRepository.deleteStoredBefore(
+			Instant.now().minus(ttl)
+		);
+		log.debug("Deleted [{}] expired idempotency records", deletedRecords);
+	}
+}
@@ -0,0 +1,62 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import project.eepw.softwaretestingcrud.domain.auth.data.AuthenticationService;
+
+/**
+ * Selects the store with app.idempotency.store: 'memory' (default) or
+ * 'database' when retries may reach another instance.
+ */
+@Configuration
+class IdempotencyConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(
+		name = "app.idempotency.store",
+		havingValue = "memory",
+		matchIfMissing = true
+	)
+	IdempotencyStore memoryIdempotencyStore(
+		@Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+		@Value("${app.idempotency.max-entries:100000}") long maxEntries
+	) {
+		return new MemoryIdempotencyStore(ttl, maxEntries);
+	}
+
+	@Bean
+	@ConditionalOnProperty(
+		name = "app.idempotency.store",
+		havingValue = "database"
+	)
+	IdempotencyStore databaseIdempotencyStore(
+		IdempotencyRecordRepository idempotencyRecordRepository,
+		@Value("${app.idempotency.ttl:PT24H}") Duration ttl
+	) {
+		return new DatabaseIdempotencyStore(idempotencyRecordRepository, ttl);
+	}
+
+	@Bean
+	FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+		IdempotencyStore idempotencyStore,
+		AuthenticationService authenticationService,
+		@Value("${app.idempotency.max-body-size:1MB}") DataSize maxBodySize
+	) {
+		FilterRegistrationBean<IdempotencyFilter> registration =
+			new FilterRegistrationBean<>(
+				new IdempotencyFilter(
+					idempotencyStore,
+					authenticationService,
+					Math.toIntExact(maxBodySize.toBytes())
+				)
+			);
+		registration.addUrlPatterns("/api/*");
+
+		return registration;
+	}
+}
@@ -0,0 +1,315 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import project.eepw.softwaretestingcrud.domain.auth.data.AuthenticationService;
+
+/**
+ * Deduplicates POST requests carrying an Idempotency-Key header. The first
+ * successful response is stored and replayed for retries with the same key
+ * without reaching the controllers. Reusing a key for a different request is
+ * rejected with 422, a retry arriving while the first request is still being
+ * processed on this instance with 409. Keys are scoped by caller, the same key
+ * sent by two clients never shares a stored response. The body is held in
+ * memory for the fingerprint, so bodies over 'max-body-size' are rejected
+ * with 413.
+ */
+class IdempotencyFilter extends OncePerRequestFilter {
+
+	static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+	static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+	private static final int MAX_KEY_LENGTH = 255;
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final IdempotencyStore idempotencyStore;
+	private final AuthenticationService authenticationService;
+	private final int maxBodySize;
+	private final Set<String> inFlightKeys = ConcurrentHashMap.newKeySet();
+
+	IdempotencyFilter(
+		IdempotencyStore idempotencyStore,
+		AuthenticationService authenticationService,
+		int maxBodySize
+	) {
+		this.idempotencyStore = idempotencyStore;
+		this.authenticationService = authenticationService;
+		this.maxBodySize = maxBodySize;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return (
+			!HttpMethod.POST.matches(request.getMethod()) ||
+			request.getHeader(IDEMPOTENCY_KEY) == null
+		);
+	}
+
+	@Override
+	protected void doFilterInternal(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		FilterChain filterChain
+	) throws ServletException, IOException {
+		String key = request.getHeader(IDEMPOTENCY_KEY);
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			response.sendError(
+				HttpStatus.BAD_REQUEST.value(),
+				"Idempotency-Key must have between 1 and 255 characters"
+			);
+			return;
+		}
+
+		Optional<byte[]> body = readBody(request);
+		if (body.isEmpty()) {
+			response.sendError(
+				HttpStatus.PAYLOAD_TOO_LARGE.value(),
+				"Request body must not exceed " + maxBodySize + " bytes"
+			);
+			return;
+		}
+
+		String caller = callerOf(request);
+		String scopedKey = digest(caller, key);
+		CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(
+			request,
+			body.get()
+		);
+		String fingerprint = fingerprintOf(caller, cachedBodyRequest);
+		if (replayStoredResponse(scopedKey, fingerprint, response)) {
+			return;
+		}
+		if (!inFlightKeys.add(scopedKey)) {
+			response.sendError(
+				HttpStatus.CONFLICT.value(),
+				"A request with this Idempotency-Key is still being processed"
+			);
+			return;
+		}
+
+		try {
+			// the first request may have completed between the lookup and the reservation
+			if (replayStoredResponse(scopedKey, fingerprint, response)) {
+				return;
+			}
+
+			ContentCachingResponseWrapper cachingResponse =
+				new ContentCachingResponseWrapper(response);
+			filterChain.doFilter(cachedBodyRequest, cachingResponse);
+			if (HttpStatus.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+				idempotencyStore.save(
+					scopedKey,
+					new IdempotentResponse(
+						fingerprint,
+						cachingResponse.getStatus(),
+						cachingResponse.getContentType(),
+						cachingResponse.getContentAsByteArray(),
+						Instant.now()
+					)
+				);
+			}
+			cachingResponse.copyBodyToResponse();
+		} finally {
+			inFlightKeys.remove(scopedKey);
+		}
+	}
+
+	private boolean replayStoredResponse(
+		String key,
+		String fingerprint,
+		HttpServletResponse response
+	) throws IOException {
+		Optional<IdempotentResponse> storedResponse = idempotencyStore.find(key);
+		if (storedResponse.isEmpty()) {
+			return false;
+		}
+
+		IdempotentResponse idempotentResponse = storedResponse.get();
+		if (!idempotentResponse.fingerprint().equals(fingerprint)) {
+			response.sendError(
+				HttpStatus.UNPROCESSABLE_ENTITY.value(),
+				"Idempotency-Key has already been used for a different request"
+			);
+			return true;
+		}
+
+		response.setStatus(idempotentResponse.status());
+		if (idempotentResponse.contentType() != null) {
+			response.setContentType(idempotentResponse.contentType());
+		}
+		response.setHeader(IDEMPOTENT_REPLAYED, "true");
+		response.setContentLength(idempotentResponse.body().length);
+		response.getOutputStream().write(idempotentResponse.body());
+
+		return true;
+	}
+
+	// reads one byte past the limit, enough to tell an oversized body apart
+	private Optional<byte[]> readBody(HttpServletRequest request)
+		throws IOException {
+		if (request.getContentLengthLong() > maxBodySize) {
+			return Optional.empty();
+		}
+
+		byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+
+		return body.length > maxBodySize ? Optional.empty() : Optional.of(body);
+	}
+
+	/**
+	 * The filter runs ahead of the authentication interceptor, so a session
+	 * token is resolved here to scope keys by user. Other Authorization
+	 * headers, and tokens the interceptor is going to reject, stand in for the
+	 * caller and only ever leave this method hashed.
+	 */
+	private String callerOf(HttpServletRequest request) {
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization == null) {
+			return "address:" + request.getRemoteAddr();
+		}
+
+		if (authorization.startsWith(BEARER_PREFIX)) {
+			Optional<Long> userId = authenticationService.getUserIdOfSession(
+				authorization.substring(BEARER_PREFIX.length())
+			);
+			if (userId.isPresent()) {
+				return "user:" + userId.get();
+			}
+		}
+
+		return "authorization:" + digest(authorization);
+	}
+
+	private static String fingerprintOf(
+		String caller,
+		CachedBodyRequest request
+	) {
+		String target = request.getMethod() + ' ' + request.getRequestURI();
+		if (request.getQueryString() != null) {
+			target += '?' + request.getQueryString();
+		}
+
+		return digest(
+			caller.getBytes(StandardCharsets.UTF_8),
+			target.getBytes(StandardCharsets.UTF_8),
+			request.body
+		);
+	}
+
+	private static String digest(String... parts) {
+		byte[][] encodedParts = new byte[parts.length][];
+		for (int i = 0; i < parts.length; i++) {
+			encodedParts[i] = parts[i].getBytes(StandardCharsets.UTF_8);
+		}
+
+		return digest(encodedParts);
+	}
+
+	// parts are length-prefixed so that ("ab", "c") and ("a", "bc") differ
+	private static String digest(byte[]... parts) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (byte[] part : parts) {
+				digest.update(
+					ByteBuffer.allocate(Integer.BYTES).putInt(part.length).array()
+				);
+				digest.update(part);
+			}
+
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * Holds the body read up front, it is needed for the fingerprint before the
+	 * request is dispatched and has to stay readable for the controllers.
+	 */
+	private static final class CachedBodyRequest
+		extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream input = new ByteArrayInputStream(body);
+
+			return new ServletInputStream() {
+				@Override
+				public boolean isFinished() {
+					return input.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				// the body is already in memory, so the listener never has to wait
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					try {
+						if (!isFinished()) {
+							readListener.onDataAvailable();
+						}
+						if (isFinished()) {
+							readListener.onAllDataAvailable();
+						}
+					} catch (IOException exception) {
+						readListener.onError(exception);
+					}
+				}
+
+				@Override
+				public int read() {
+					return input.read();
+				}
+
+				@Override
+				public int read(byte[] buffer, int offset, int length) {
+					return input.read(buffer, offset, length);
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			Charset charset = getCharacterEncoding() != null
+				? Charset.forName(getCharacterEncoding())
+				: StandardCharsets.UTF_8;
+
+			return new BufferedReader(
+				new InputStreamReader(getInputStream(), charset)
+			);
+		}
+	}
+}
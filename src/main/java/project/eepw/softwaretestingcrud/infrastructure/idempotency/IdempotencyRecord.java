@@ -0,0 +1,64 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity(name = "idempotency_records")
+@Table(
+	indexes = @Index(
+		name = "idempotency_records_stored_at_idx",
+		columnList = "stored_at"
+	)
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+class IdempotencyRecord {
+
+	@Id
+	@Column(name = "idempotency_key")
+	private String key;
+
+	@NotNull
+	private String fingerprint;
+
+	private int status;
+
+	private String contentType;
+
+	@NotNull
+	@Column(length = 1_048_576)
+	private byte[] body;
+
+	@NotNull
+	private Instant storedAt;
+
+	static IdempotencyRecord from(String key, IdempotentResponse response) {
+		return new IdempotencyRecord(
+			key,
+			response.fingerprint(),
+			response.status(),
+			response.contentType(),
+			response.body(),
+			response.storedAt()
+		);
+	}
+
+	IdempotentResponse toResponse() {
+		return new IdempotentResponse(
+			fingerprint,
+			status,
+			contentType,
+			body,
+			storedAt
+		);
+	}
+}
@@ -0,0 +1,17 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+interface IdempotencyRecordRepository
+	extends JpaRepository<IdempotencyRecord, String> {
+	@Modifying
+	@Transactional
+	@Query("delete from idempotency_records r where r.storedAt < :storedBefore")
+	int deleteStoredBefore(Instant storedBefore);
+}
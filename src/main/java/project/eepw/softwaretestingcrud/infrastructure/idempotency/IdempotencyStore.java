@@ -0,0 +1,9 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import java.util.Optional;
+
+interface IdempotencyStore {
+	Optional<IdempotentResponse> find(String key);
+
+	void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,15 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Response stored under an idempotency key, along with the fingerprint of the
+ * request that produced it.
+ */
+record IdempotentResponse(
+	String fingerprint,
+	int status,
+	String contentType,
+	byte[] body,
+	Instant storedAt
+) {}
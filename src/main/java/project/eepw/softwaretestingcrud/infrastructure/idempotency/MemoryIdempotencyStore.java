@@ -0,0 +1,34 @@
+package project.eepw.softwaretestingcrud.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps responses on this instance only, retries routed to another instance
+ * are not deduplicated.
+ */
+class MemoryIdempotencyStore implements IdempotencyStore {
+
+	private final Cache<String, IdempotentResponse> responses;
+
+	MemoryIdempotencyStore(Duration ttl, long maxEntries) {
+		this.responses =
+			Caffeine
+				.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxEntries)
+				.build();
+	}
+
+	@Override
+	public Optional<IdempotentResponse> find(String key) {
+		return Optional.ofNullable(responses.getIfPresent(key));
+	}
+
+	@Override
+	public void save(String key, IdempotentResponse response) {
+		responses.put(key, response);
+	}
+}
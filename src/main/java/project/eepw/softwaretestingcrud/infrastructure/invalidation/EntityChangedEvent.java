@@ -0,0 +1,42 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+import java.time.Instant;
+
+/**
+ * Published by the services for every committed write. The parent id is the
+ * owning user of a post and the commented post of a comment.
+ */
+public record EntityChangedEvent(
+	EntityType entityType,
+	ChangeType changeType,
+	Long id,
+	Long parentId,
+	Instant occurredAt
+) {
+	public static EntityChangedEvent of(
+		EntityType entityType,
+		ChangeType changeType,
+		Long id,
+		Long parentId
+	) {
+		return new EntityChangedEvent(
+			entityType,
+			changeType,
+			id,
+			parentId,
+			Instant.now()
+		);
+	}
+
+	public enum EntityType {
+		USER,
+		POST,
+		COMMENT
+	}
+
+	public enum ChangeType {
+		CREATED,
+		UPDATED,
+		DELETED
+	}
+}
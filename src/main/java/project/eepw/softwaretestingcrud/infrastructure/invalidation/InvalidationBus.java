@@ -0,0 +1,11 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+/**
+ * Broadcasts committed entity changes to the listeners of every application
+ * instance, including the publishing one.
+ */
+public interface InvalidationBus {
+	void publish(EntityChangedEvent event);
+
+	void subscribe(InvalidationListener listener);
+}
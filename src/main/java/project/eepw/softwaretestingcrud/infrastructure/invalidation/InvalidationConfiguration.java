@@ -0,0 +1,43 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selects the bus with app.invalidation.bus: 'local' (default) for a single
+ * instance, 'postgres' when several instances share the database.
+ */
+@Configuration
+class InvalidationConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(
+		name = "app.invalidation.bus",
+		havingValue = "local",
+		matchIfMissing = true
+	)
+	LocalInvalidationBus localInvalidationBus(MeterRegistry meterRegistry) {
+		return new LocalInvalidationBus(meterRegistry);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.invalidation.bus", havingValue = "postgres")
+	PostgresInvalidationBus postgresInvalidationBus(
+		DataSource dataSource,
+		JdbcTemplate jdbcTemplate,
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry
+	) {
+		return new PostgresInvalidationBus(
+			dataSource,
+			jdbcTemplate,
+			objectMapper,
+			meterRegistry
+		);
+	}
+}
@@ -0,0 +1,26 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards entity changes to the bus once they are committed, so no instance
+ * reloads data that is not visible yet. Writes outside of a transaction are
+ * forwarded immediately.
+ */
+@Component
+@RequiredArgsConstructor
+class InvalidationEventBridge {
+
+	private final InvalidationBus invalidationBus;
+
+	@TransactionalEventListener(
+		phase = TransactionPhase.AFTER_COMMIT,
+		fallbackExecution = true
+	)
+	public void onEntityChanged(EntityChangedEvent event) {
+		invalidationBus.publish(event);
+	}
+}
@@ -0,0 +1,11 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+public interface InvalidationListener {
+	void onEntityChanged(EntityChangedEvent event);
+
+	/**
+	 * Called when events may have been missed, e.g. after the bus lost its
+	 * connection. Listeners should drop everything they cache.
+	 */
+	void onInvalidationGap();
+}
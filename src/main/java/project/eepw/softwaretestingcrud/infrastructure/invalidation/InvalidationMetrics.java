@@ -0,0 +1,31 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+
+class InvalidationMetrics {
+
+	private final MeterRegistry meterRegistry;
+	private final Timer latency;
+
+	InvalidationMetrics(MeterRegistry meterRegistry, String bus) {
+		this.meterRegistry = meterRegistry;
+		this.latency =
+			Timer
+				.builder("invalidation.latency")
+				.description("Time from the write to the delivery of its event")
+				.tag("bus", bus)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	void recordDelivery(EntityChangedEvent event) {
+		latency.record(Duration.between(event.occurredAt(), Instant.now()));
+	}
+
+	void recordDropped(String reason) {
+		meterRegistry.counter("invalidation.dropped", "reason", reason).increment();
+	}
+}
@@ -0,0 +1,31 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers events to the listeners of this instance only, for single-node
+ * deployments and tests.
+ */
+class LocalInvalidationBus implements InvalidationBus {
+
+	private final List<InvalidationListener> listeners =
+		new CopyOnWriteArrayList<>();
+	private final InvalidationMetrics invalidationMetrics;
+
+	LocalInvalidationBus(MeterRegistry meterRegistry) {
+		this.invalidationMetrics = new InvalidationMetrics(meterRegistry, "local");
+	}
+
+	@Override
+	public void publish(EntityChangedEvent event) {
+		listeners.forEach(listener -> listener.onEntityChanged(event));
+		invalidationMetrics.recordDelivery(event);
+	}
+
+	@Override
+	public void subscribe(InvalidationListener listener) {
+		listeners.add(listener);
+	}
+}
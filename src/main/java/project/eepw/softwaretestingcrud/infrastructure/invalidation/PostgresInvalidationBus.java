@@ -0,0 +1,178 @@
+package project.eepw.softwaretestingcrud.infrastructure.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Broadcasts events between application instances with PostgreSQL
+ * LISTEN/NOTIFY. Events are delivered to the local listeners right away and
+ * to the other instances through the notification channel; instances skip
+ * their own notifications.
+ *
+ * <p>NOTIFY is fire-and-forget: notifications sent while the listening
+ * connection is down are lost, so listeners are told to drop their caches
+ * whenever the connection is (re)established.
+ */
+@Slf4j
+class PostgresInvalidationBus implements InvalidationBus, SmartLifecycle {
+
+	private static final String CHANNEL = "entity_changed";
+	private static final int MAX_PAYLOAD_BYTES = 7999;
+	private static final int POLL_TIMEOUT_MILLIS = 500;
+	private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final List<InvalidationListener> listeners =
+		new CopyOnWriteArrayList<>();
+	private final DataSource dataSource;
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final InvalidationMetrics invalidationMetrics;
+
+	private volatile boolean running;
+	private Thread listenerThread;
+
+	PostgresInvalidationBus(
+		DataSource dataSource,
+		JdbcTemplate jdbcTemplate,
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry
+	) {
+		this.dataSource = dataSource;
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.invalidationMetrics = new InvalidationMetrics(meterRegistry, "postgres");
+	}
+
+	@Override
+	public void publish(EntityChangedEvent event) {
+		deliver(event);
+
+		try {
+			String payload = objectMapper.writeValueAsString(
+				new InvalidationMessage(nodeId, event)
+			);
+			if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+				invalidationMetrics.recordDropped("payload-too-large");
+				return;
+			}
+			jdbcTemplate.query(
+				"select pg_notify(?, ?)",
+				(ResultSetExtractor<Void>) resultSet -> null,
+				CHANNEL,
+				payload
+			);
+		} catch (JsonProcessingException | DataAccessException exception) {
+			invalidationMetrics.recordDropped("publish-failed");
+			log.warn("Could not broadcast event=[{}]", event, exception);
+		}
+	}
+
+	@Override
+	public void subscribe(InvalidationListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		listenerThread = new Thread(this::listen, "invalidation-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		listenerThread.interrupt();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = dataSource.getConnection()) {
+				listenOn(connection);
+			} catch (SQLException | RuntimeException exception) {
+				invalidationMetrics.recordDropped("connection-lost");
+				log.warn("Invalidation listener lost its connection", exception);
+				sleepBeforeReconnect();
+			}
+		}
+	}
+
+	private void listenOn(Connection connection) throws SQLException {
+		PGConnection pgConnection = connection.unwrap(PGConnection.class);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("LISTEN " + CHANNEL);
+		}
+		listeners.forEach(InvalidationListener::onInvalidationGap);
+
+		try {
+			while (running) {
+				PGNotification[] notifications = pgConnection.getNotifications(
+					POLL_TIMEOUT_MILLIS
+				);
+				if (notifications != null) {
+					for (PGNotification notification : notifications) {
+						receive(notification.getParameter());
+					}
+				}
+			}
+		} finally {
+			// the connection goes back to the pool
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("UNLISTEN *");
+			}
+		}
+	}
+
+	private void receive(String payload) {
+		try {
+			InvalidationMessage message = objectMapper.readValue(
+				payload,
+				InvalidationMessage.class
+			);
+			if (!nodeId.equals(message.nodeId())) {
+				deliver(message.event());
+			}
+		} catch (JsonProcessingException exception) {
+			invalidationMetrics.recordDropped("malformed");
+			log.warn("Dropping malformed invalidation payload=[{}]", payload);
+		}
+	}
+
+	private void deliver(EntityChangedEvent event) {
+		listeners.forEach(listener -> listener.onEntityChanged(event));
+		invalidationMetrics.recordDelivery(event);
+	}
+
+	private void sleepBeforeReconnect() {
+		try {
+			Thread.sleep(RECONNECT_DELAY_MILLIS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private record InvalidationMessage(String nodeId, EntityChangedEvent event) {}
+}
@@ -0,0 +1,52 @@
+package project.eepw.softwaretestingcrud.infrastructure.listing;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetLinks {
+
+	/**
+	 * Listing response of one slice ordered by id. A truncated slice carries a
+	 * Link header with rel="next" pointing at the same request continued after
+	 * the last returned id.
+	 */
+	public static <T> ResponseEntity<List<T>> ofSlice(
+		Slice<T> slice,
+		Function<T, Long> idOf
+	) {
+		return ofSlice(slice, idOf, content -> content);
+	}
+
+	/**
+	 * Same as {@link #ofSlice(Slice, Function)} for a body built from the whole
+	 * slice instead of a list of its rows.
+	 */
+	public static <T, B> ResponseEntity<B> ofSlice(
+		Slice<T> slice,
+		Function<T, Long> idOf,
+		Function<List<T>, B> toBody
+	) {
+		List<T> content = slice.getContent();
+		if (!slice.hasNext()) {
+			return ResponseEntity.ok(toBody.apply(content));
+		}
+
+		Long lastId = idOf.apply(content.get(content.size() - 1));
+		String nextUri = ServletUriComponentsBuilder
+			.fromCurrentRequest()
+			.replaceQueryParam("after", lastId)
+			.toUriString();
+
+		return ResponseEntity
+			.ok()
+			.header(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", nextUri))
+			.body(toBody.apply(content));
+	}
+}
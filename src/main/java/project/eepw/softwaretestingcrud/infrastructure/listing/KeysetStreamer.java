@@ -0,0 +1,107 @@
+package project.eepw.softwaretestingcrud.infrastructure.listing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Uncapped alternative to the listings for clients accepting
+ * application/x-ndjson. The rows are read slice by slice, each slice in its
+ * own read-only transaction that is closed once its rows are written, so
+ * neither the persistence context nor the response buffer grows with the
+ * table. With open-in-view the transactions all join the persistence context
+ * of the request, it is cleared after every slice.
+ */
+@Component
+public class KeysetStreamer {
+
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final int sliceSize;
+
+	KeysetStreamer(
+		ObjectMapper objectMapper,
+		EntityManager entityManager,
+		PlatformTransactionManager transactionManager,
+		ListingProperties listingProperties
+	) {
+		this.objectMapper = objectMapper;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.sliceSize = listingProperties.maxRows();
+	}
+
+	public <T> ResponseEntity<StreamingResponseBody> ndjson(
+		long afterId,
+		SliceQuery<T> sliceQuery,
+		Function<T, Long> idOf
+	) {
+		StreamingResponseBody body = outputStream -> {
+			try (
+				SequenceWriter writer = objectMapper
+					.writer()
+					.withRootValueSeparator("\n")
+					.writeValues(outputStream)
+			) {
+				Long lastId = afterId;
+				while (lastId != null) {
+					long sliceAfterId = lastId;
+					lastId =
+						transactionTemplate.execute(status -> {
+							Long sliceLastId = writeSlice(
+								writer,
+								sliceQuery.find(sliceAfterId, sliceSize),
+								idOf
+							);
+							entityManager.clear();
+
+							return sliceLastId;
+						});
+					writer.flush();
+				}
+			}
+		};
+
+		return ResponseEntity
+			.ok()
+			.contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+			.body(body);
+	}
+
+	private static <T> Long writeSlice(
+		SequenceWriter writer,
+		Slice<T> slice,
+		Function<T, Long> idOf
+	) {
+		T lastRow = null;
+		try {
+			for (T row : slice) {
+				writer.write(row);
+				lastRow = row;
+			}
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+
+		return slice.hasNext() ? idOf.apply(lastRow) : null;
+	}
+
+	@FunctionalInterface
+	public interface SliceQuery<T> {
+		Slice<T> find(long afterId, int limit);
+	}
+}
@@ -0,0 +1,17 @@
+package project.eepw.softwaretestingcrud.infrastructure.listing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.listing")
+public record ListingProperties(@DefaultValue("500") int maxRows) {
+	/**
+	 * Rows to return for a requested limit, never more than maxRows and maxRows
+	 * when no limit was requested.
+	 */
+	public int limit(Integer requestedLimit) {
+		return requestedLimit == null
+			? maxRows
+			: Math.min(requestedLimit, maxRows);
+	}
+}
@@ -0,0 +1,20 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Republishes relayed messages as {@link OutboxMessage} application events for
+ * in-process consumers, a stand-in for a message broker.
+ */
+@RequiredArgsConstructor
+class ApplicationEventOutboxSink implements OutboxSink {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Override
+	public void deliver(List<OutboxMessage> messages) {
+		messages.forEach(eventPublisher::publishEvent);
+	}
+}
@@ -0,0 +1,47 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends relayed messages to a file, one JSON document per line.
+ */
+@RequiredArgsConstructor
+class FileOutboxSink implements OutboxSink {
+
+	private final Path path;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	public void deliver(List<OutboxMessage> messages) {
+		StringBuilder lines = new StringBuilder();
+		try {
+			for (OutboxMessage message : messages) {
+				lines.append(objectMapper.writeValueAsString(message)).append('\n');
+			}
+			Files.writeString(
+				path,
+				lines,
+				StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND,
+				StandardOpenOption.SYNC
+			);
+		} catch (JsonProcessingException exception) {
+			throw new IllegalStateException(
+				"Could not serialize outbox message",
+				exception
+			);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the sink with app.outbox.sink: 'in-process' (default) or 'file'.
+ */
+@Configuration
+class OutboxConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(
+		name = "app.outbox.sink",
+		havingValue = "in-process",
+		matchIfMissing = true
+	)
+	OutboxSink applicationEventOutboxSink(
+		ApplicationEventPublisher eventPublisher
+	) {
+		return new ApplicationEventOutboxSink(eventPublisher);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+	OutboxSink fileOutboxSink(
+		@Value("${app.outbox.file.path:outbox-events.jsonl}") Path path,
+		ObjectMapper objectMapper
+	) {
+		return new FileOutboxSink(path, objectMapper);
+	}
+}
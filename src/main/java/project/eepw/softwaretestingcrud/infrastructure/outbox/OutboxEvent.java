@@ -0,0 +1,86 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
+
+@Entity(name = "outbox_events")
+@Table(
+	indexes = @Index(
+		name = "outbox_events_published_at_idx",
+		columnList = "published_at, id"
+	)
+)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(
+		strategy = GenerationType.SEQUENCE,
+		generator = "outbox_events_seq"
+	)
+	@SequenceGenerator(name = "outbox_events_seq", allocationSize = 1)
+	private Long id;
+
+	@NotNull
+	@Enumerated(EnumType.STRING)
+	private EntityType aggregateType;
+
+	@NotNull
+	private Long aggregateId;
+
+	@NotNull
+	@Enumerated(EnumType.STRING)
+	private ChangeType changeType;
+
+	private Long parentId;
+
+	@NotNull
+	private Instant occurredAt;
+
+	private Instant publishedAt;
+
+	static OutboxEvent from(EntityChangedEvent event) {
+		return OutboxEvent
+			.builder()
+			.aggregateType(event.entityType())
+			.aggregateId(event.id())
+			.changeType(event.changeType())
+			.parentId(event.parentId())
+			.occurredAt(event.occurredAt())
+			.build();
+	}
+
+	OutboxMessage toMessage() {
+		return new OutboxMessage(
+			id,
+			new EntityChangedEvent(
+				aggregateType,
+				changeType,
+				aggregateId,
+				parentId,
+				occurredAt
+			)
+		);
+	}
+}
@@ -0,0 +1,28 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	/**
+	 * Locks the oldest unpublished events, a relay running on another instance
+	 * waits for the batch to be published instead of delivering it again.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(
+		"select e from outbox_events e where e.publishedAt is null order by e.id"
+	)
+	List<OutboxEvent> findUnpublished(Pageable pageable);
+
+	@Modifying
+	@Query("delete from outbox_events e where e.publishedAt < :publishedBefore")
+	int deletePublishedBefore(Instant publishedBefore);
+}
@@ -0,0 +1,9 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+
+/**
+ * Relayed outbox entry. Sequence numbers grow in commit order of the writes to
+ * the same aggregate, consumers can use them to drop duplicates.
+ */
+public record OutboxMessage(Long sequence, EntityChangedEvent event) {}
@@ -0,0 +1,73 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes outbox events in id order, in batches, each batch in its own
+ * transaction. Writes to the same aggregate are serialized by row locks, so
+ * their events are numbered and published in commit order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class OutboxRelay {
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxSink outboxSink;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${app.outbox.relay.batch-size:200}")
+	private int batchSize;
+
+	@Value("${app.outbox.retention:P7D}")
+	private Duration retention;
+
+	@Scheduled(
+		initialDelayString = "${app.outbox.relay.initial-delay:PT1S}",
+		fixedDelayString = "${app.outbox.relay.delay:PT1S}"
+	)
+	public void relay() {
+		int relayedEvents;
+		do {
+			relayedEvents = transactionTemplate.execute(status -> relayBatch());
+		} while (relayedEvents == batchSize);
+	}
+
+	@Scheduled(
+		initialDelayString = "${app.outbox.cleanup.initial-delay:PT10M}",
+		fixedDelayString = "${app.outbox.cleanup.delay:PT1H}"
+	)
+	public void deletePublishedEvents() {
+		Integer deletedEvents = transactionTemplate.execute(status ->
+			outboxEventRepository.deletePublishedBefore(
+				Instant.now().minus(retention)
+			)
+		);
+		log.debug("Deleted [{}] published outbox events", deletedEvents);
+	}
+
+	private int relayBatch() {
+		List<OutboxEvent> events = outboxEventRepository.findUnpublished(
+			PageRequest.of(0, batchSize)
+		);
+		if (events.isEmpty()) {
+			return 0;
+		}
+
+		outboxSink.deliver(events.stream().map(OutboxEvent::toMessage).toList());
+		Instant publishedAt = Instant.now();
+		events.forEach(event -> event.setPublishedAt(publishedAt));
+		log.debug("Relayed [{}] outbox events", events.size());
+
+		return events.size();
+	}
+}
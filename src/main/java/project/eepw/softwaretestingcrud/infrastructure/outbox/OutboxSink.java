@@ -0,0 +1,11 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox messages. A batch is only marked as published
+ * when delivery returns normally, so sinks see messages at least once.
+ */
+public interface OutboxSink {
+	void deliver(List<OutboxMessage> messages);
+}
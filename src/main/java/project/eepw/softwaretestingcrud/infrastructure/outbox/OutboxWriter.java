@@ -0,0 +1,23 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+
+/**
+ * Stores every entity change in the outbox as part of the transaction that
+ * made it, the change and its event commit or roll back together.
+ */
+@Component
+@RequiredArgsConstructor
+class OutboxWriter {
+
+	private final OutboxEventRepository outboxEventRepository;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void onEntityChanged(EntityChangedEvent event) {
+		outboxEventRepository.save(OutboxEvent.from(event));
+	}
+}
@@ -0,0 +1,124 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate statistics at /actuator/hibernate: executions and timings of the
+ * slowest queries, query plan and second-level cache hit ratios and entity
+ * load counts. They are only collected with hibernate.generate_statistics,
+ * which the 'tuned' profile turns on; DELETE resets them. Only that profile
+ * exposes the endpoint, on the management port bound to localhost.
+ */
+@Component
+@Endpoint(id = "hibernate")
+class HibernateStatisticsEndpoint {
+
+	private static final int SLOWEST_QUERIES = 20;
+
+	private final Statistics statistics;
+
+	HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+		this.statistics =
+			entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@ReadOperation
+	public HibernateStatisticsDTO statistics() {
+		List<QueryStatisticsDTO> slowestQueries = Arrays
+			.stream(statistics.getQueries())
+			.map(query ->
+				QueryStatisticsDTO.of(query, statistics.getQueryStatistics(query))
+			)
+			.sorted(
+				Comparator
+					.comparingLong(QueryStatisticsDTO::totalTimeMillis)
+					.reversed()
+			)
+			.limit(SLOWEST_QUERIES)
+			.toList();
+		Map<String, Long> entityLoads = new TreeMap<>();
+		for (String entityName : statistics.getEntityNames()) {
+			entityLoads.put(
+				entityName,
+				statistics.getEntityStatistics(entityName).getLoadCount()
+			);
+		}
+
+		return new HibernateStatisticsDTO(
+			statistics.isStatisticsEnabled(),
+			statistics.getQueryExecutionCount(),
+			statistics.getQueryExecutionMaxTime(),
+			statistics.getQueryExecutionMaxTimeQueryString(),
+			ratio(
+				statistics.getQueryPlanCacheHitCount(),
+				statistics.getQueryPlanCacheMissCount()
+			),
+			ratio(
+				statistics.getSecondLevelCacheHitCount(),
+				statistics.getSecondLevelCacheMissCount()
+			),
+			statistics.getEntityLoadCount(),
+			statistics.getEntityFetchCount(),
+			statistics.getPrepareStatementCount(),
+			slowestQueries,
+			entityLoads
+		);
+	}
+
+	@DeleteOperation
+	public void reset() {
+		statistics.clear();
+	}
+
+	private static double ratio(long hits, long misses) {
+		long lookups = hits + misses;
+
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public record HibernateStatisticsDTO(
+		boolean enabled,
+		long queryExecutionCount,
+		long slowestQueryTimeMillis,
+		String slowestQuery,
+		double queryPlanCacheHitRatio,
+		double secondLevelCacheHitRatio,
+		long entityLoadCount,
+		long entityFetchCount,
+		long preparedStatementCount,
+		List<QueryStatisticsDTO> slowestQueries,
+		Map<String, Long> entityLoads
+	) {}
+
+	public record QueryStatisticsDTO(
+		String query,
+		long executionCount,
+		long totalTimeMillis,
+		long averageTimeMillis,
+		long maxTimeMillis,
+		long rowCount
+	) {
+		static QueryStatisticsDTO of(String query, QueryStatistics statistics) {
+			return new QueryStatisticsDTO(
+				query,
+				statistics.getExecutionCount(),
+				statistics.getExecutionTotalTime(),
+				statistics.getExecutionAvgTime(),
+				statistics.getExecutionMaxTime(),
+				statistics.getExecutionRowCount()
+			);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements prepared by Hibernate while a repository method runs on the
+ * current thread.
+ */
+final class RepositoryInvocation {
+
+	private static final ThreadLocal<RepositoryInvocation> CURRENT =
+		new ThreadLocal<>();
+	private static final int MAX_RECORDED_STATEMENTS = 5;
+
+	private final RepositoryInvocation enclosing;
+	private final List<String> statements = new ArrayList<>(1);
+	private int statementCount;
+	private int bindParameterCount;
+
+	private RepositoryInvocation(RepositoryInvocation enclosing) {
+		this.enclosing = enclosing;
+	}
+
+	static RepositoryInvocation start() {
+		RepositoryInvocation invocation = new RepositoryInvocation(CURRENT.get());
+		CURRENT.set(invocation);
+
+		return invocation;
+	}
+
+	static void recordStatement(String sql) {
+		RepositoryInvocation invocation = CURRENT.get();
+		if (invocation == null) {
+			return;
+		}
+
+		invocation.statementCount++;
+		if (invocation.statements.size() < MAX_RECORDED_STATEMENTS) {
+			invocation.statements.add(sql);
+		}
+		for (int index = 0; index < sql.length(); index++) {
+			if (sql.charAt(index) == '?') {
+				invocation.bindParameterCount++;
+			}
+		}
+	}
+
+	void finish() {
+		if (enclosing == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(enclosing);
+		}
+	}
+
+	List<String> statements() {
+		return statements;
+	}
+
+	int statementCount() {
+		return statementCount;
+	}
+
+	int bindParameterCount() {
+		return bindParameterCount;
+	}
+}
@@ -0,0 +1,62 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import java.util.stream.Stream;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Outermost advice of a repository proxy, so the measured time includes the
+ * transaction the repository opens and the flush on its commit. Methods
+ * returning a Stream are not recorded: their rows are fetched while the caller
+ * consumes the stream, after the method returned, so neither the time until
+ * then nor a row count would describe the query. The export is the only
+ * caller and logs its own timings.
+ */
+class RepositoryTimingInterceptor implements MethodInterceptor {
+
+	private final String repositoryName;
+	private final ObjectProvider<SlowQueryLog> slowQueryLogProvider;
+	private volatile SlowQueryLog slowQueryLog;
+
+	RepositoryTimingInterceptor(
+		String repositoryName,
+		ObjectProvider<SlowQueryLog> slowQueryLogProvider
+	) {
+		this.repositoryName = repositoryName;
+		this.slowQueryLogProvider = slowQueryLogProvider;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+		RepositoryInvocation invocation = RepositoryInvocation.start();
+		long start = System.nanoTime();
+		Object result = null;
+		try {
+			result = methodInvocation.proceed();
+			return result;
+		} finally {
+			long durationNanos = System.nanoTime() - start;
+			invocation.finish();
+			if (!(result instanceof Stream)) {
+				slowQueryLog()
+					.record(
+						repositoryName + '.' + methodInvocation.getMethod().getName(),
+						durationNanos,
+						invocation,
+						result
+					);
+			}
+		}
+	}
+
+	private SlowQueryLog slowQueryLog() {
+		SlowQueryLog log = slowQueryLog;
+		if (log == null) {
+			log = slowQueryLogProvider.getObject();
+			slowQueryLog = log;
+		}
+
+		return log;
+	}
+}
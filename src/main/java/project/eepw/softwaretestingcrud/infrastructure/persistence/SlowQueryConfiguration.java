@@ -0,0 +1,61 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Times every Spring Data repository invocation and attributes the SQL
+ * Hibernate prepares on the same thread to it, see {@link SlowQueryLog}.
+ */
+@Configuration
+class SlowQueryConfiguration {
+
+	@Bean
+	static BeanPostProcessor repositoryTimingPostProcessor(
+		ObjectProvider<SlowQueryLog> slowQueryLog
+	) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(
+				Object bean,
+				String beanName
+			) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory ->
+						factory.addRepositoryProxyPostProcessor(
+							(proxyFactory, repositoryInformation) ->
+								proxyFactory.addAdvice(
+									0,
+									new RepositoryTimingInterceptor(
+										repositoryInformation
+											.getRepositoryInterface()
+											.getSimpleName(),
+										slowQueryLog
+									)
+								)
+						)
+					);
+				}
+
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer repositoryStatementInspector() {
+		StatementInspector inspector = sql -> {
+			RepositoryInvocation.recordStatement(sql);
+			return sql;
+		};
+
+		return properties ->
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+	}
+}
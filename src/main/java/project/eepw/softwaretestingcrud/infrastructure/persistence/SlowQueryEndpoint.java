@@ -0,0 +1,32 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import project.eepw.softwaretestingcrud.infrastructure.persistence.SlowQueryLog.SlowQueryReportDTO;
+
+/**
+ * Repository methods by total time and the slowest invocations of the current
+ * window at /actuator/slowqueries; DELETE starts a new window. The report
+ * carries SQL text and class names, only the 'tuned' profile exposes it, on
+ * the management port bound to localhost.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+class SlowQueryEndpoint {
+
+	private final SlowQueryLog slowQueryLog;
+
+	@ReadOperation
+	public SlowQueryReportDTO report() {
+		return slowQueryLog.report();
+	}
+
+	@DeleteOperation
+	public void reset() {
+		slowQueryLog.reset();
+	}
+}
@@ -0,0 +1,215 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per repository method totals and the slowest invocations of the current
+ * window. Fast invocations cost two adders and a max, only slow ones are
+ * attributed to their calling service method and logged.
+ */
+@Component
+@Slf4j
+class SlowQueryLog {
+
+	private static final String APPLICATION_PACKAGE =
+		"project.eepw.softwaretestingcrud.domain";
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+	private final long thresholdNanos;
+	private final int topSize;
+	private final Map<String, MethodTotals> totals = new ConcurrentHashMap<>();
+	private final PriorityQueue<SlowInvocationDTO> slowestInvocations;
+	private volatile Instant windowStart = Instant.now();
+
+	SlowQueryLog(SlowQueryProperties properties) {
+		this.thresholdNanos = properties.threshold().toNanos();
+		this.topSize = properties.topSize();
+		this.slowestInvocations =
+			new PriorityQueue<>(
+				Comparator.comparingLong(SlowInvocationDTO::durationMillis)
+			);
+	}
+
+	void record(
+		String repositoryMethod,
+		long durationNanos,
+		RepositoryInvocation invocation,
+		Object result
+	) {
+		totals
+			.computeIfAbsent(repositoryMethod, method -> new MethodTotals())
+			.add(durationNanos, durationNanos >= thresholdNanos);
+		if (durationNanos < thresholdNanos) {
+			return;
+		}
+
+		// still on the caller's stack, so the service method can be looked up
+		SlowInvocationDTO slowInvocation = new SlowInvocationDTO(
+			repositoryMethod,
+			callingServiceMethod(),
+			TimeUnit.NANOSECONDS.toMillis(durationNanos),
+			invocation.statementCount(),
+			invocation.bindParameterCount(),
+			rowCountOf(result),
+			List.copyOf(invocation.statements()),
+			Instant.now()
+		);
+		log.warn(
+			"Slow repository call {} from {} took {} ms: {} statements, {} bind parameters, {} rows, sql={}",
+			slowInvocation.repositoryMethod(),
+			slowInvocation.callingMethod(),
+			slowInvocation.durationMillis(),
+			slowInvocation.statementCount(),
+			slowInvocation.bindParameterCount(),
+			slowInvocation.rowCount(),
+			slowInvocation.statements()
+		);
+		synchronized (slowestInvocations) {
+			slowestInvocations.add(slowInvocation);
+			if (slowestInvocations.size() > topSize) {
+				slowestInvocations.poll();
+			}
+		}
+	}
+
+	SlowQueryReportDTO report() {
+		List<SlowInvocationDTO> slowest;
+		synchronized (slowestInvocations) {
+			slowest = new ArrayList<>(slowestInvocations);
+		}
+		slowest.sort(
+			Comparator
+				.comparingLong(SlowInvocationDTO::durationMillis)
+				.reversed()
+		);
+		List<MethodTotalsDTO> methods = totals
+			.entrySet()
+			.stream()
+			.map(entry -> entry.getValue().toDto(entry.getKey()))
+			.sorted(
+				Comparator.comparingLong(MethodTotalsDTO::totalMillis).reversed()
+			)
+			.limit(topSize)
+			.toList();
+
+		return new SlowQueryReportDTO(windowStart, methods, slowest);
+	}
+
+	@Scheduled(
+		initialDelayString = "${app.persistence.slow-query.window:PT1H}",
+		fixedDelayString = "${app.persistence.slow-query.window:PT1H}"
+	)
+	public void reset() {
+		synchronized (slowestInvocations) {
+			slowestInvocations.clear();
+		}
+		totals.clear();
+		windowStart = Instant.now();
+	}
+
+	private static String callingServiceMethod() {
+		return STACK_WALKER.walk(frames ->
+			frames
+				.filter(frame ->
+					frame.getClassName().startsWith(APPLICATION_PACKAGE)
+				)
+				.filter(frame -> !frame.getClassName().contains("$$"))
+				.findFirst()
+				.map(frame ->
+					frame
+						.getClassName()
+						.substring(frame.getClassName().lastIndexOf('.') + 1) +
+					'.' +
+					frame.getMethodName()
+				)
+				.orElse("unknown")
+		);
+	}
+
+	private static long rowCountOf(Object result) {
+		if (result == null) {
+			return 0;
+		}
+		if (result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (result instanceof Slice<?> slice) {
+			return slice.getNumberOfElements();
+		}
+		if (result instanceof Optional<?> optional) {
+			return optional.isPresent() ? 1 : 0;
+		}
+
+		return 1;
+	}
+
+	private static final class MethodTotals {
+
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder slowInvocations = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(
+			Math::max,
+			0
+		);
+
+		private void add(long durationNanos, boolean slow) {
+			invocations.increment();
+			totalNanos.add(durationNanos);
+			maxNanos.accumulate(durationNanos);
+			if (slow) {
+				slowInvocations.increment();
+			}
+		}
+
+		private MethodTotalsDTO toDto(String repositoryMethod) {
+			return new MethodTotalsDTO(
+				repositoryMethod,
+				invocations.sum(),
+				slowInvocations.sum(),
+				TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()),
+				TimeUnit.NANOSECONDS.toMillis(maxNanos.get())
+			);
+		}
+	}
+
+	public record SlowQueryReportDTO(
+		Instant since,
+		List<MethodTotalsDTO> repositoryMethods,
+		List<SlowInvocationDTO> slowestInvocations
+	) {}
+
+	public record MethodTotalsDTO(
+		String repositoryMethod,
+		long invocations,
+		long slowInvocations,
+		long totalMillis,
+		long maxMillis
+	) {}
+
+	public record SlowInvocationDTO(
+		String repositoryMethod,
+		String callingMethod,
+		long durationMillis,
+		int statementCount,
+		int bindParameterCount,
+		long rowCount,
+		List<String> statements,
+		Instant occurredAt
+	) {}
+}
@@ -0,0 +1,16 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Repository invocations slower than 'threshold' are logged, the 'top-size'
+ * slowest of each 'window' are kept for /actuator/slowqueries.
+ */
+@ConfigurationProperties(prefix = "app.persistence.slow-query")
+record SlowQueryProperties(
+	@DefaultValue("PT0.2S") Duration threshold,
+	@DefaultValue("20") int topSize,
+	@DefaultValue("PT1H") Duration window
+) {}
@@ -0,0 +1,25 @@
+package project.eepw.softwaretestingcrud.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+class RateLimitConfiguration implements WebMvcConfigurer {
+
+	private final RateLimitInterceptor rateLimitInterceptor;
+
+	RateLimitConfiguration(
+		RateLimitProperties rateLimitProperties,
+		MeterRegistry meterRegistry
+	) {
+		this.rateLimitInterceptor =
+			new RateLimitInterceptor(rateLimitProperties, meterRegistry);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+	}
+}
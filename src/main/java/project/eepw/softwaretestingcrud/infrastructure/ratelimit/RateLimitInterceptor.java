@@ -0,0 +1,122 @@
+package project.eepw.softwaretestingcrud.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import project.eepw.softwaretestingcrud.infrastructure.exception.RateLimitExceededException;
+import project.eepw.softwaretestingcrud.infrastructure.ratelimit.RateLimitProperties.Route;
+import project.eepw.softwaretestingcrud.infrastructure.security.AuthenticatedUser;
+
+/**
+ * Per-client admission control in front of the controllers. Routes are looked
+ * up by the mapping pattern the dispatcher already resolved, so the hot path
+ * is one map lookup, one cache lookup and one CAS. Clients are keyed by the
+ * authenticated user, anonymous ones by remote address. Nothing the client
+ * chooses freely, such as a path variable, may pick the bucket.
+ */
+class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final Map<String, LimitedRoute> routes;
+
+	RateLimitInterceptor(
+		RateLimitProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		this.routes =
+			properties
+				.routes()
+				.stream()
+				.map(route ->
+					new LimitedRoute(route, properties.maxClientsPerRoute(), meterRegistry)
+				)
+				.collect(Collectors.toMap(LimitedRoute::key, Function.identity()));
+	}
+
+	@Override
+	public boolean preHandle(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		Object handler
+	) {
+		Object pattern = request.getAttribute(
+			HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE
+		);
+		if (pattern == null) {
+			return true;
+		}
+		LimitedRoute route = routes.get(request.getMethod() + ' ' + pattern);
+		if (route == null) {
+			return true;
+		}
+
+		long waitNanos = route
+			.bucketOf(clientKey(request))
+			.tryAcquire(System.nanoTime());
+		if (waitNanos > 0) {
+			route.rejected().increment();
+			long retryAfterSeconds =
+				TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+			response.setHeader(
+				HttpHeaders.RETRY_AFTER,
+				String.valueOf(retryAfterSeconds)
+			);
+			throw new RateLimitExceededException(
+				String.format("Too many requests, retry in %d s", retryAfterSeconds)
+			);
+		}
+
+		return true;
+	}
+
+	private static String clientKey(HttpServletRequest request) {
+		Optional<Long> authenticatedUserId = AuthenticatedUser.idOf(request);
+		if (authenticatedUserId.isPresent()) {
+			return "user:" + authenticatedUserId.get();
+		}
+
+		return "address:" + request.getRemoteAddr();
+	}
+
+	private record LimitedRoute(
+		String key,
+		Route route,
+		Cache<String, TokenBucket> buckets,
+		Counter rejected
+	) {
+		LimitedRoute(Route route, int maxClients, MeterRegistry meterRegistry) {
+			this(
+				keyOf(route),
+				route,
+				// an idle bucket is full again after one period, evicting it loses nothing
+				Caffeine
+					.newBuilder()
+					.maximumSize(maxClients)
+					.expireAfterAccess(route.period())
+					.build(),
+				meterRegistry.counter("rate.limit.rejected", "route", keyOf(route))
+			);
+		}
+
+		private static String keyOf(Route route) {
+			return route.method().toUpperCase() + ' ' + route.path();
+		}
+
+		TokenBucket bucketOf(String clientKey) {
+			return buckets.get(
+				clientKey,
+				key -> new TokenBucket(route.limit(), route.period(), System.nanoTime())
+			);
+		}
+	}
+}
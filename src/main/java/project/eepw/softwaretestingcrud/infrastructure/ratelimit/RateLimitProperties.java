@@ -0,0 +1,28 @@
+package project.eepw.softwaretestingcrud.infrastructure.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Routes are matched by HTTP method and the request mapping pattern exactly as
+ * declared on the controllers, e.g. 'POST /api/post/user/{userId}'. Every
+ * client gets 'limit' requests per 'period' on a route, bursts included.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+record RateLimitProperties(
+	@DefaultValue("100000") @Positive int maxClientsPerRoute,
+	@DefaultValue @Valid List<Route> routes
+) {
+	record Route(
+		String method,
+		String path,
+		@DefaultValue("20") @Positive int limit,
+		@DefaultValue("PT1S") Duration period
+	) {}
+}
@@ -0,0 +1,42 @@
+package project.eepw.softwaretestingcrud.infrastructure.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (generic cell rate algorithm): the
+ * theoretical arrival time of the next request. Each admitted request pushes
+ * it one emission interval further, a request is rejected when that would
+ * move it more than one period ahead of now. Admission is a single CAS, there
+ * are no locks and nothing refills the bucket in the background.
+ */
+final class TokenBucket {
+
+	private final long emissionIntervalNanos;
+	private final long periodNanos;
+	private final AtomicLong theoreticalArrival;
+
+	TokenBucket(int limit, Duration period, long nowNanos) {
+		this.periodNanos = period.toNanos();
+		this.emissionIntervalNanos = periodNanos / limit;
+		this.theoreticalArrival = new AtomicLong(nowNanos);
+	}
+
+	/**
+	 * @return 0 when the request is admitted, otherwise the nanoseconds after
+	 * which it would be
+	 */
+	long tryAcquire(long nowNanos) {
+		while (true) {
+			long arrival = theoreticalArrival.get();
+			long nextArrival = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+			long waitNanos = nextArrival - nowNanos - periodNanos;
+			if (waitNanos > 0) {
+				return waitNanos;
+			}
+			if (theoreticalArrival.compareAndSet(arrival, nextArrival)) {
+				return 0;
+			}
+		}
+	}
+}
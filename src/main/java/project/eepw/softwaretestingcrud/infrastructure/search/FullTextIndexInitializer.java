@@ -0,0 +1,42 @@
+package project.eepw.softwaretestingcrud.infrastructure.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the GIN indexes backing the full-text search queries once Hibernate
+ * has created the schema. The indexed expressions have to stay identical to
+ * the ones used in the search queries, otherwise PostgreSQL falls back to a
+ * sequential scan.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class FullTextIndexInitializer {
+
+	private final FullTextSearch fullTextSearch;
+	private final JdbcTemplate jdbcTemplate;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void createFullTextIndexes() {
+		if (!fullTextSearch.isSupported()) {
+			log.info(
+				"Skipping full-text indexes, database=[{}] is not supported",
+				fullTextSearch.databaseProductName()
+			);
+			return;
+		}
+
+		jdbcTemplate.execute(
+			"create index if not exists posts_content_fts_idx on posts using gin (to_tsvector('simple', content))"
+		);
+		jdbcTemplate.execute(
+			"create index if not exists comments_content_fts_idx on comments using gin (to_tsvector('simple', content))"
+		);
+		log.debug("Created full-text indexes on posts and comments");
+	}
+}
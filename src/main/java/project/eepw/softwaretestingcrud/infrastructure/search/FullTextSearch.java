@@ -0,0 +1,55 @@
+package project.eepw.softwaretestingcrud.infrastructure.search;
+
+import java.sql.DatabaseMetaData;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import project.eepw.softwaretestingcrud.infrastructure.exception.FullTextSearchNotSupportedException;
+
+/**
+ * Tells whether the database runs the full-text search queries, they are
+ * native PostgreSQL. Elsewhere, e.g. on H2, search is answered with 501
+ * instead of failing inside the query.
+ */
+@Component
+@RequiredArgsConstructor
+public class FullTextSearch {
+
+	private static final String POSTGRESQL = "PostgreSQL";
+
+	private final DataSource dataSource;
+	private volatile String databaseProductName;
+
+	public boolean isSupported() {
+		return POSTGRESQL.equals(databaseProductName());
+	}
+
+	public void checkSupported() {
+		if (!isSupported()) {
+			throw new FullTextSearchNotSupportedException(
+				String.format(
+					"Full-text search is not supported on %s",
+					databaseProductName()
+				)
+			);
+		}
+	}
+
+	String databaseProductName() {
+		if (databaseProductName == null) {
+			try {
+				databaseProductName =
+					JdbcUtils.extractDatabaseMetaData(
+						dataSource,
+						DatabaseMetaData::getDatabaseProductName
+					);
+			} catch (MetaDataAccessException exception) {
+				throw new IllegalStateException(exception);
+			}
+		}
+
+		return databaseProductName;
+	}
+}
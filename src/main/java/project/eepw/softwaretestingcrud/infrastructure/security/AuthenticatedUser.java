@@ -0,0 +1,22 @@
+package project.eepw.softwaretestingcrud.infrastructure.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Caller resolved from the session token of the current request, if any.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuthenticatedUser {
+
+	static final String USER_ID_ATTRIBUTE =
+		AuthenticatedUser.class.getName() + ".userId";
+
+	public static Optional<Long> idOf(HttpServletRequest request) {
+		return Optional.ofNullable(
+			(Long) request.getAttribute(USER_ID_ATTRIBUTE)
+		);
+	}
+}
@@ -0,0 +1,25 @@
+package project.eepw.softwaretestingcrud.infrastructure.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import project.eepw.softwaretestingcrud.domain.auth.data.AuthenticationService;
+
+@Configuration
+@RequiredArgsConstructor
+class AuthenticationConfiguration implements WebMvcConfigurer {
+
+	private final AuthenticationService authenticationService;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		// runs before rate limiting, which keys authenticated callers by user id
+		registry
+			.addInterceptor(new AuthenticationInterceptor(authenticationService))
+			.addPathPatterns("/api/**")
+			.excludePathPatterns("/api/auth/**")
+			.order(Ordered.HIGHEST_PRECEDENCE);
+	}
+}
@@ -0,0 +1,45 @@
+package project.eepw.softwaretestingcrud.infrastructure.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import project.eepw.softwaretestingcrud.domain.auth.data.AuthenticationService;
+import project.eepw.softwaretestingcrud.infrastructure.exception.InvalidCredentialsException;
+
+/**
+ * Resolves the caller from a 'Bearer' session token without touching the
+ * database. Requests without a token stay anonymous, an invalid, expired or
+ * revoked token is rejected with 401.
+ */
+@RequiredArgsConstructor
+class AuthenticationInterceptor implements HandlerInterceptor {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final AuthenticationService authenticationService;
+
+	@Override
+	public boolean preHandle(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		Object handler
+	) {
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			return true;
+		}
+
+		Long userId = authenticationService
+			.getUserIdOfSession(authorization.substring(BEARER_PREFIX.length()))
+			.orElseThrow(() ->
+				new InvalidCredentialsException(
+					"Session token is invalid or expired"
+				)
+			);
+		request.setAttribute(AuthenticatedUser.USER_ID_ATTRIBUTE, userId);
+
+		return true;
+	}
+}
@@ -0,0 +1,53 @@
+package project.eepw.softwaretestingcrud.infrastructure.serialization;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+class JacksonConfiguration {
+
+	/**
+	 * Replaces reflective property access with generated lambdas, picked up by
+	 * the auto-configured object mapper like any other module bean.
+	 */
+	@Bean
+	Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+
+	@Bean
+	Jackson2ObjectMapperBuilderCustomizer compactOutputCustomizer() {
+		return builder -> builder.indentOutput(false);
+	}
+
+	/**
+	 * Binary encodings negotiated through the Accept and Content-Type headers
+	 * (application/cbor, application/x-jackson-smile). Built from the Boot
+	 * managed builder so they share modules and settings with the JSON mapper.
+	 */
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+		Jackson2ObjectMapperBuilder objectMapperBuilder
+	) {
+		return new MappingJackson2CborHttpMessageConverter(
+			objectMapperBuilder.factory(new CBORFactory()).build()
+		);
+	}
+
+	@Bean
+	MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+		Jackson2ObjectMapperBuilder objectMapperBuilder
+	) {
+		return new MappingJackson2SmileHttpMessageConverter(
+			objectMapperBuilder.factory(new SmileFactory()).build()
+		);
+	}
+}
@@ -7,6 +7,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.regex.Pattern;
 
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -20,24 +21,12 @@ public @interface Password {
 
 	class PasswordValidator implements ConstraintValidator<Password, String> {
 
-		private String message;
-
-		@Override
-		public void initialize(Password constraintAnnotation) {
-			ConstraintValidator.super.initialize(constraintAnnotation);
-			this.message = constraintAnnotation.message();
-		}
+		// compiled once instead of on every String.matches call
+		private static final Pattern PASSWORD_PATTERN = Pattern.compile(".{8,}");
 
 		@Override
 		public boolean isValid(String value, ConstraintValidatorContext context) {
-			if (value == null || !value.matches(".{8,}")) {
-				context
-					.buildConstraintViolationWithTemplate(message)
-					.addPropertyNode("password");
-				return false;
-			}
-
-			return true;
+			return value != null && PASSWORD_PATTERN.matcher(value).matches();
 		}
 	}
 }
@@ -23,6 +23,9 @@ public final class IntegrationTestConstants {
 	// comment endpoints
 	public static final String GET_ALL_COMMENTS_URL = "api/comment";
 
+	// auth endpoints
+	public static final String LOGIN_URL = "api/auth/login";
+
 	public static String createLocalURIWithGivenPortNumber(
 		int portNumber,
 		String wantedEndpoint
@@ -3,14 +3,22 @@ package project.eepw.softwaretestingcrud.application;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.hamcrest.Matchers.nullValue;
 import static project.eepw.softwaretestingcrud.IntegrationTestConstants.CREATE_POST_URL_WITHOUT_USER_ID;
+import static project.eepw.softwaretestingcrud.IntegrationTestConstants.GET_ALL_COMMENTS_URL;
 import static project.eepw.softwaretestingcrud.IntegrationTestConstants.GET_ALL_POSTS_URL;
+import static project.eepw.softwaretestingcrud.IntegrationTestConstants.LOGIN_URL;
 import static project.eepw.softwaretestingcrud.domain.factory.PostFactory.sampleCreatePost;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import io.restassured.response.ValidatableResponse;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -25,9 +33,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import project.eepw.softwaretestingcrud.SoftwareTestingCrudApplication;
+import project.eepw.softwaretestingcrud.domain.auth.dto.LoginRequestDTO;
+import project.eepw.softwaretestingcrud.domain.auth.dto.SessionDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
 import project.eepw.softwaretestingcrud.domain.post.entity.Post;
@@ -40,6 +52,9 @@ import project.eepw.softwaretestingcrud.helpers.UserFixtures;
 )
 class PostIntegrationTest {
 
+	private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
 	private User user;
 
 	@BeforeEach
@@ -166,6 +181,187 @@ class PostIntegrationTest {
 				.containsExactlyInAnyOrderElementsOf(expectedPostContents);
 		}
 
+		@Test
+		void shouldRejectInvalidPostBeforeLookingUpItsAuthor() {
+			// given
+			long userIdThatDoesNotExist = 1337L;
+			PostCreationDTO createPost = sampleCreatePost()
+				.toBuilder()
+				.content(null)
+				.build();
+
+			// when
+			@SuppressWarnings("unchecked")
+			Map<String, String> errorResponse = (Map<String, String>) given()
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.body(createPost)
+				.post(CREATE_POST_URL_WITHOUT_USER_ID + userIdThatDoesNotExist)
+				.then()
+				.statusCode(HttpStatus.BAD_REQUEST.value())
+				.extract()
+				.as(Map.class);
+
+			// then
+			assertThat(errorResponse.keySet()).containsExactly("content");
+		}
+
+		@Test
+		void shouldReplayCreatedPostWhenCreationIsRetriedWithSameIdempotencyKey() {
+			// given
+			PostCreationDTO createPost = sampleCreatePost();
+			String idempotencyKey = UUID.randomUUID().toString();
+			PostDTO createdPost = makeIdempotentPostCreationRequest(
+				createPost,
+				idempotencyKey
+			)
+				.header(IDEMPOTENT_REPLAYED_HEADER, nullValue())
+				.extract()
+				.as(PostDTO.class);
+
+			// when
+			PostDTO replayedPost = makeIdempotentPostCreationRequest(
+				createPost,
+				idempotencyKey
+			)
+				.header(IDEMPOTENT_REPLAYED_HEADER, "true")
+				.extract()
+				.as(PostDTO.class);
+
+			// then
+			List<PostDTO> userPosts = Arrays.asList(
+				given()
+					.get(GET_ALL_POSTS_URL + "/user/" + user.getId())
+					.then()
+					.statusCode(HttpStatus.OK.value())
+					.extract()
+					.as(PostDTO[].class)
+			);
+
+			Assertions.assertAll(
+				() -> assertThat(replayedPost.getId()).isEqualTo(createdPost.getId()),
+				() -> assertThat(userPosts).hasSize(1)
+			);
+		}
+
+		@Test
+		void shouldNotReplayPostCreatedByAnotherCallerWithSameIdempotencyKey() {
+			// given
+			PostCreationDTO createPost = sampleCreatePost();
+			String idempotencyKey = UUID.randomUUID().toString();
+			PostDTO firstCallerPost = makeIdempotentPostCreationRequest(
+				createPost,
+				idempotencyKey,
+				"Basic Zmlyc3Q6Y2FsbGVy"
+			)
+				.extract()
+				.as(PostDTO.class);
+
+			// when
+			PostDTO secondCallerPost = makeIdempotentPostCreationRequest(
+				createPost,
+				idempotencyKey,
+				"Basic c2Vjb25kOmNhbGxlcg=="
+			)
+				.header(IDEMPOTENT_REPLAYED_HEADER, nullValue())
+				.extract()
+				.as(PostDTO.class);
+
+			// then
+			assertThat(secondCallerPost.getId())
+				.isNotEqualTo(firstCallerPost.getId());
+		}
+
+		@Test
+		void shouldReplayPostCreatedInAnotherSessionOfSameUser() {
+			// given
+			PostCreationDTO createPost = sampleCreatePost();
+			String idempotencyKey = UUID.randomUUID().toString();
+			PostDTO firstSessionPost = makeIdempotentPostCreationRequest(
+				createPost,
+				idempotencyKey,
+				"Bearer " + makeLoginRequest().token()
+			)
+				.extract()
+				.as(PostDTO.class);
+
+			// when
+			PostDTO secondSessionPost = makeIdempotentPostCreationRequest(
+				createPost,
+				idempotencyKey,
+				"Bearer " + makeLoginRequest().token()
+			)
+				.header(IDEMPOTENT_REPLAYED_HEADER, "true")
+				.extract()
+				.as(PostDTO.class);
+
+			// then
+			assertThat(secondSessionPost.getId())
+				.isEqualTo(firstSessionPost.getId());
+		}
+
+		@Test
+		void shouldRejectIdempotentPostCreationWithBodyOverTheLimit() {
+			// given
+			PostCreationDTO createPost = PostCreationDTO
+				.builder()
+				.content("a".repeat(1024 * 1024))
+				.build();
+
+			// when
+
+			// then
+			given()
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.header(IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString())
+				.body(createPost)
+				.post(CREATE_POST_URL_WITHOUT_USER_ID + user.getId())
+				.then()
+				.statusCode(HttpStatus.PAYLOAD_TOO_LARGE.value());
+		}
+
+		private SessionDTO makeLoginRequest() {
+			User createUser = sampleCreateUser();
+
+			return given()
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.body(
+					new LoginRequestDTO(createUser.getEmail(), createUser.getPassword())
+				)
+				.post(LOGIN_URL)
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(SessionDTO.class);
+		}
+
+		private ValidatableResponse makeIdempotentPostCreationRequest(
+			PostCreationDTO createPost,
+			String idempotencyKey
+		) {
+			return given()
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+				.body(createPost)
+				.post(CREATE_POST_URL_WITHOUT_USER_ID + user.getId())
+				.then()
+				.statusCode(HttpStatus.CREATED.value());
+		}
+
+		private ValidatableResponse makeIdempotentPostCreationRequest(
+			PostCreationDTO createPost,
+			String idempotencyKey,
+			String authorization
+		) {
+			return given()
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.header(HttpHeaders.AUTHORIZATION, authorization)
+				.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+				.body(createPost)
+				.post(CREATE_POST_URL_WITHOUT_USER_ID + user.getId())
+				.then()
+				.statusCode(HttpStatus.CREATED.value());
+		}
+
 		@ParameterizedTest
 		@MethodSource(value = "makeValidCreationPosts")
 		void shouldCorrectlyCreateNewPostWhenCreationPostIsValid(
@@ -305,6 +501,154 @@ class PostIntegrationTest {
 			);
 		}
 
+		@Test
+		void shouldReturnNotModifiedWhenPostHasNotChangedSinceLastRead() {
+			// given
+			PostDTO post = makePostCreationRequest(sampleCreatePost(), user.getId());
+
+			// when
+			String postTag = given()
+				.get(GET_ALL_POSTS_URL + "/" + post.getId())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.header(HttpHeaders.ETAG);
+
+			// then
+			assertThat(postTag).isNotBlank();
+			given()
+				.header(HttpHeaders.IF_NONE_MATCH, postTag)
+				.get(GET_ALL_POSTS_URL + "/" + post.getId())
+				.then()
+				.statusCode(HttpStatus.NOT_MODIFIED.value());
+		}
+
+		@Test
+		void shouldChangeUserPostsTagWhenPostIsCommented() {
+			// given
+			PostDTO post = makePostCreationRequests(List.of("Lorem ipsum")).get(0);
+			String userPostsTag = given()
+				.get(GET_ALL_POSTS_URL + "/user/" + user.getId())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.header(HttpHeaders.ETAG);
+
+			// when
+			given()
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.body(
+					CommentCreationDTO
+						.builder()
+						.userId(user.getId())
+						.postId(post.getId())
+						.content("Lorem comment")
+						.build()
+				)
+				.post(GET_ALL_COMMENTS_URL)
+				.then()
+				.statusCode(HttpStatus.CREATED.value());
+
+			// then
+			PostDTO[] userPosts = given()
+				.header(HttpHeaders.IF_NONE_MATCH, userPostsTag)
+				.get(GET_ALL_POSTS_URL + "/user/" + user.getId())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(PostDTO[].class);
+
+			assertThat(userPosts)
+				.extracting(PostDTO::getCommentCount)
+				.containsExactly(1L);
+		}
+
+		@Test
+		void shouldEncodePostAsCborWhenClientAcceptsIt() throws Exception {
+			// given
+			PostDTO post = makePostCreationRequest(sampleCreatePost(), user.getId());
+
+			// when
+			byte[] payload = given()
+				.accept("application/cbor")
+				.get(GET_ALL_POSTS_URL + "/" + post.getId())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.contentType("application/cbor")
+				.extract()
+				.asByteArray();
+			PostDTO getPost = new CBORMapper().readValue(payload, PostDTO.class);
+
+			// then
+			assertThat(getPost).isEqualTo(post);
+		}
+
+		@Test
+		void shouldCapPostListingAndLinkToItsContinuation() {
+			// given
+			List<PostDTO> createdPosts = makePostCreationRequests(
+				List.of("Lorem primum", "Lorem secundum", "Lorem tertium")
+			);
+			Long lastIdOfFirstSlice = createdPosts.get(1).getId();
+
+			// when
+			ExtractableResponse<Response> firstSlice = given()
+				.queryParam("limit", 2)
+				.get(GET_ALL_POSTS_URL)
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract();
+			PostDTO[] secondSlice = given()
+				.queryParam("limit", 2)
+				.queryParam("after", lastIdOfFirstSlice)
+				.get(GET_ALL_POSTS_URL)
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.header(HttpHeaders.LINK, nullValue())
+				.extract()
+				.as(PostDTO[].class);
+
+			// then
+			Assertions.assertAll(
+				() ->
+					assertThat(firstSlice.as(PostDTO[].class))
+						.containsExactlyElementsOf(createdPosts.subList(0, 2)),
+				() ->
+					assertThat(firstSlice.header(HttpHeaders.LINK))
+						.contains("after=" + lastIdOfFirstSlice)
+						.endsWith("; rel=\"next\""),
+				() -> assertThat(secondSlice).containsExactly(createdPosts.get(2))
+			);
+		}
+
+		@Test
+		void shouldStreamAllPostsAsNdjsonWhenClientAcceptsIt() {
+			// given
+			List<PostDTO> createdPosts = makePostCreationRequests(
+				List.of("Lorem primum", "Lorem secundum", "Lorem tertium")
+			);
+
+			// when
+			List<String> lines = given()
+				.accept("application/x-ndjson")
+				.get(GET_ALL_POSTS_URL)
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.contentType("application/x-ndjson")
+				.extract()
+				.asString()
+				.lines()
+				.toList();
+
+			// then
+			Assertions.assertAll(
+				() -> assertThat(lines).hasSize(createdPosts.size()),
+				() ->
+					assertThat(lines.get(0))
+						.contains("\"id\":" + createdPosts.get(0).getId())
+			);
+		}
+
 		@Test
 		void shouldThrowAnExceptionWhenUserPassesPostIdThatDoesNotExist() {
 			// given
@@ -316,6 +660,30 @@ class PostIntegrationTest {
 				.then()
 				.statusCode(HttpStatus.NOT_FOUND.value());
 		}
+
+		@Test
+		void shouldDescribeMissingPostAsProblemDetail() {
+			// given
+			long wrongPostId = 1337L;
+
+			// when
+			@SuppressWarnings("unchecked")
+			Map<String, Object> problem = (Map<String, Object>) given()
+				.get(GET_ALL_POSTS_URL + "/" + wrongPostId)
+				.then()
+				.statusCode(HttpStatus.NOT_FOUND.value())
+				.contentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+				.extract()
+				.as(Map.class);
+
+			// then
+			Assertions.assertAll(
+				() -> assertThat(problem).containsEntry("status", 404),
+				() ->
+					assertThat(problem)
+						.containsEntry("detail", "Post has not been found!")
+			);
+		}
 	}
 
 	@Nested
@@ -519,6 +887,22 @@ class PostIntegrationTest {
 			.as(PostDTO.class);
 	}
 
+	private List<PostDTO> makePostCreationRequests(List<String> postContents) {
+		return postContents
+			.stream()
+			.map(postContent ->
+				given()
+					.contentType(MediaType.APPLICATION_JSON_VALUE)
+					.body(sampleCreatePost().toBuilder().content(postContent).build())
+					.post(CREATE_POST_URL_WITHOUT_USER_ID + user.getId())
+					.then()
+					.statusCode(HttpStatus.CREATED.value())
+					.extract()
+					.as(PostDTO.class)
+			)
+			.toList();
+	}
+
 	private void makePostDeletionRequest(Long postId) {
 		given()
 			.delete(GET_ALL_POSTS_URL + "/" + postId)
@@ -0,0 +1,112 @@
+package project.eepw.softwaretestingcrud.domain.auth.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.domain.auth.dto.LoginRequestDTO;
+import project.eepw.softwaretestingcrud.domain.auth.dto.SessionDTO;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.exception.InvalidCredentialsException;
+
+@SpringBootTest(
+	properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+)
+@AutoConfigureTestDatabase
+class AuthenticationServiceTest {
+
+	@Autowired
+	private AuthenticationService authenticationService;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory
+					.makeUser()
+					.toBuilder()
+					.id(null)
+					.email("login@example.com")
+					.posts(new HashSet<>())
+					.build()
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldOpenSessionOfUserWhenCredentialsMatch() {
+		//given
+		LoginRequestDTO loginRequestDTO = new LoginRequestDTO(
+			user.getEmail(),
+			user.getPassword()
+		);
+
+		//when
+		SessionDTO session = authenticationService.login(loginRequestDTO);
+
+		//then
+		assertThat(authenticationService.getUserIdOfSession(session.token()))
+			.contains(user.getId());
+	}
+
+	@Test
+	void shouldRejectLoginWhenPasswordDoesNotMatch() {
+		//given
+		LoginRequestDTO loginRequestDTO = new LoginRequestDTO(
+			user.getEmail(),
+			"wrong-password"
+		);
+
+		//when
+		//then
+		assertThatThrownBy(() -> authenticationService.login(loginRequestDTO))
+			.isInstanceOf(InvalidCredentialsException.class);
+	}
+
+	@Test
+	void shouldNotResolveSessionWhenTokenWasTamperedWith() {
+		//given
+		SessionDTO session = authenticationService.login(
+			new LoginRequestDTO(user.getEmail(), user.getPassword())
+		);
+		String token = session.token();
+		String forgedToken =
+			(user.getId() + 1) + token.substring(token.indexOf('.'));
+
+		//when
+		//then
+		assertThat(authenticationService.getUserIdOfSession(forgedToken)).isEmpty();
+	}
+
+	@Test
+	void shouldForgetSessionWhenUserLogsOut() {
+		//given
+		SessionDTO session = authenticationService.login(
+			new LoginRequestDTO(user.getEmail(), user.getPassword())
+		);
+
+		//when
+		authenticationService.logout(session.token());
+
+		//then
+		assertThat(authenticationService.getUserIdOfSession(session.token()))
+			.isEmpty();
+	}
+}
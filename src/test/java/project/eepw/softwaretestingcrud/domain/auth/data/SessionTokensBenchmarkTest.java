@@ -0,0 +1,70 @@
+package project.eepw.softwaretestingcrud.domain.auth.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the per-request cost of resolving the caller from a session
+ * token, with and without the verified-token cache. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+class SessionTokensBenchmarkTest {
+
+	private static final int TOKENS = 10_000;
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 20;
+
+	@Test
+	void shouldVerifyCachedTokensFasterThanSigningThemAgain() {
+		//given
+		SessionTokens uncachedTokens = new SessionTokens(
+			Duration.ofHours(1),
+			"c2Vzc2lvbi10b2tlbnMtYmVuY2htYXJrLXNlY3JldA==",
+			0
+		);
+		SessionTokens cachedTokens = new SessionTokens(
+			Duration.ofHours(1),
+			"c2Vzc2lvbi10b2tlbnMtYmVuY2htYXJrLXNlY3JldA==",
+			TOKENS
+		);
+		List<String> tokens = LongStream
+			.range(0, TOKENS)
+			.mapToObj(userId -> cachedTokens.issue(userId).token())
+			.toList();
+
+		//when
+		long uncachedNanos = measure(uncachedTokens, tokens);
+		long cachedNanos = measure(cachedTokens, tokens);
+
+		//then
+		log.info(
+			"token verification: {} ns uncached, {} ns cached",
+			uncachedNanos,
+			cachedNanos
+		);
+		assertThat(cachedNanos).isLessThan(uncachedNanos);
+	}
+
+	private long measure(SessionTokens sessionTokens, List<String> tokens) {
+		for (int round = 0; round < WARMUP_ROUNDS; round++) {
+			tokens.forEach(sessionTokens::verify);
+		}
+
+		long start = System.nanoTime();
+		for (int round = 0; round < MEASURED_ROUNDS; round++) {
+			for (String token : tokens) {
+				assertThat(sessionTokens.verify(token)).isPresent();
+			}
+		}
+
+		return (System.nanoTime() - start) / ((long) MEASURED_ROUNDS * TOKENS);
+	}
+}
@@ -0,0 +1,123 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentSearchHit;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.data.PostService;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CommentSearchTest {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+		"postgres:15-alpine"
+	);
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		PostDTO post = postService.createPost(
+			PostCreationDTO.builder().content("Some content").build(),
+			user.getId()
+		);
+		Stream
+			.of(
+				"Great write-up on spring testing",
+				"Spring testing again, spring testing forever",
+				"<script>alert('xss')</script> spring",
+				"Nothing relevant here"
+			)
+			.forEach(content ->
+				commentService.saveNewCommentToPost(
+					CommentCreationDTO
+						.builder()
+						.userId(user.getId())
+						.postId(post.getId())
+						.content(content)
+						.build()
+				)
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldRankCommentsByRelevanceAndHighlightMatchedTerms() {
+		//when
+		Page<CommentSearchHit> hits = commentService.searchComments(
+			"spring testing",
+			PageRequest.of(0, 10)
+		);
+
+		//then
+		Assertions.assertAll(
+			() -> assertThat(hits.getTotalElements()).isEqualTo(2),
+			() ->
+				assertThat(hits.getContent().get(0).getContent())
+					.startsWith("Spring testing again"),
+			() ->
+				assertThat(hits.getContent().get(0).getRank())
+					.isGreaterThan(hits.getContent().get(1).getRank()),
+			() ->
+				assertThat(hits.getContent().get(0).getHighlight())
+					.contains("<b>Spring</b>")
+		);
+	}
+
+	@Test
+	void shouldEscapeMarkupOfContentInHighlight() {
+		//when
+		Page<CommentSearchHit> hits = commentService.searchComments(
+			"alert",
+			PageRequest.of(0, 10)
+		);
+
+		//then
+		String highlight = hits.getContent().get(0).getHighlight();
+
+		Assertions.assertAll(
+			() -> assertThat(hits.getTotalElements()).isEqualTo(1),
+			() -> assertThat(highlight).doesNotContain("<script>"),
+			() -> assertThat(highlight).contains("&lt;script&gt;")
+		);
+	}
+}
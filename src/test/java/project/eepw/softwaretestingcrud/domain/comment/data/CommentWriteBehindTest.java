@@ -0,0 +1,113 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentAcceptedDTO;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.data.PostService;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.exception.WriteBehindQueueFullException;
+
+@SpringBootTest(
+	properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"app.comments.write-behind.capacity=2",
+		"app.comments.write-behind.flush-interval=PT1H"
+	}
+)
+@AutoConfigureTestDatabase
+class CommentWriteBehindTest {
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private CommentWriteBehind commentWriteBehind;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+	private PostDTO post;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		post =
+			postService.createPost(
+				PostCreationDTO.builder().content("Some content").build(),
+				user.getId()
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		commentWriteBehind.flush();
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldPersistAcceptedCommentsUnderTheirIdsWhenQueueIsFlushed() {
+		//given
+		CommentAcceptedDTO first = acceptComment("First comment");
+		CommentAcceptedDTO second = acceptComment("Second comment");
+
+		//when
+		commentWriteBehind.flush();
+
+		//then
+		Assertions.assertAll(
+			() ->
+				assertThat(commentService.getCommentById(first.id()).getContent())
+					.isEqualTo("First comment"),
+			() ->
+				assertThat(commentService.getCommentById(second.id()).getContent())
+					.isEqualTo("Second comment"),
+			() ->
+				assertThat(postService.getPostDTOById(post.getId()).getCommentCount())
+					.isEqualTo(2L)
+		);
+	}
+
+	@Test
+	void shouldRejectCommentWhenQueueIsFull() {
+		//given
+		acceptComment("First comment");
+		acceptComment("Second comment");
+
+		//when
+		//then
+		assertThatThrownBy(() -> acceptComment("Third comment"))
+			.isInstanceOf(WriteBehindQueueFullException.class);
+	}
+
+	private CommentAcceptedDTO acceptComment(String content) {
+		return commentService.acceptNewCommentToPost(
+			CommentCreationDTO
+				.builder()
+				.userId(user.getId())
+				.postId(post.getId())
+				.content(content)
+				.build()
+		);
+	}
+}
@@ -0,0 +1,103 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.InvalidationBus;
+
+class PostCommentsCacheTest {
+
+	private static final Long POST_ID = 1L;
+	private static final VersionStamp VERSION_STAMP = new VersionStamp(
+		1L,
+		1L,
+		0L,
+		1L
+	);
+
+	private PostCommentsCache postCommentsCache;
+	private AtomicInteger loads;
+	private Supplier<Set<CommentDTO>> loader;
+
+	@BeforeEach
+	void setUp() {
+		postCommentsCache =
+			new PostCommentsCache(
+				1024 * 1024,
+				new SimpleMeterRegistry(),
+				mock(InvalidationBus.class)
+			);
+		loads = new AtomicInteger();
+		loader =
+			() -> {
+				loads.incrementAndGet();
+				return Set.of(
+					CommentDTO.builder().id(1L).content("Some comment").build()
+				);
+			};
+	}
+
+	@Test
+	void shouldSkipLoaderWhenListingIsCachedUnderSameVersionStamp() {
+		//given
+		Set<CommentDTO> loadedComments = postCommentsCache.get(
+			POST_ID,
+			VERSION_STAMP,
+			loader
+		);
+
+		//when
+		Set<CommentDTO> cachedComments = postCommentsCache.get(
+			POST_ID,
+			VERSION_STAMP,
+			loader
+		);
+
+		//then
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cachedComments).isSameAs(loadedComments);
+	}
+
+	@Test
+	void shouldLoadAgainWhenVersionStampHasChanged() {
+		//given
+		postCommentsCache.get(POST_ID, VERSION_STAMP, loader);
+
+		//when
+		postCommentsCache.get(POST_ID, new VersionStamp(1L, 1L, 1L, 1L), loader);
+
+		//then
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldLoadAgainWhenCommentOfPostHasChanged() {
+		//given
+		postCommentsCache.get(POST_ID, VERSION_STAMP, loader);
+
+		//when
+		postCommentsCache.onEntityChanged(
+			EntityChangedEvent.of(
+				EntityType.COMMENT,
+				ChangeType.CREATED,
+				2L,
+				POST_ID
+			)
+		);
+		postCommentsCache.get(POST_ID, VERSION_STAMP, loader);
+
+		//then
+		assertThat(loads.get()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,130 @@
+package project.eepw.softwaretestingcrud.domain.comment.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
+import project.eepw.softwaretestingcrud.domain.factory.PostFactory;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.data.PostService;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.infrastructure.concurrency.RequestCoalescer;
+import project.eepw.softwaretestingcrud.infrastructure.http.VersionStamp;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.InvalidationBus;
+
+class PostCommentsCoalescingTest {
+
+	private static final Long POST_ID = 1L;
+	private static final VersionStamp STAMP_BEFORE_WRITE = new VersionStamp(
+		1L,
+		1L,
+		0L,
+		1L
+	);
+	private static final VersionStamp STAMP_AFTER_WRITE = new VersionStamp(
+		2L,
+		2L,
+		0L,
+		2L
+	);
+
+	private final CountDownLatch firstLoadStarted = new CountDownLatch(1);
+	private final CountDownLatch writeCommitted = new CountDownLatch(1);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private CommentRepository commentRepository;
+	private CommentService commentService;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		commentRepository = mock(CommentRepository.class);
+		commentService =
+			new CommentService(
+				commentRepository,
+				mock(UserService.class),
+				mock(PostService.class),
+				new RequestCoalescer(meterRegistry),
+				new PostCommentsCache(
+					1024 * 1024,
+					meterRegistry,
+					mock(InvalidationBus.class)
+				),
+				mock(CommentWriteBehind.class),
+				mock(ApplicationEventPublisher.class)
+			);
+	}
+
+	@Test
+	void shouldNotShareLoadStartedBeforeWriteWithCallerThatSawTheWrite()
+		throws Exception {
+		//given
+		Comment firstComment = makeComment(1L);
+		Comment secondComment = makeComment(2L);
+		when(commentRepository.findAllByPostIdWithAuthorAndPost(POST_ID))
+			.thenAnswer(invocation -> {
+				if (loads.getAndIncrement() == 0) {
+					firstLoadStarted.countDown();
+					writeCommitted.await(5, TimeUnit.SECONDS);
+					return List.of(firstComment);
+				}
+				return List.of(firstComment, secondComment);
+			});
+
+		//when
+		CompletableFuture<Set<CommentDTO>> callerBeforeWrite =
+			CompletableFuture.supplyAsync(() ->
+				commentService.getCommentsAttachedToPost(POST_ID, STAMP_BEFORE_WRITE)
+			);
+		firstLoadStarted.await(5, TimeUnit.SECONDS);
+		CompletableFuture<Set<CommentDTO>> callerAfterWrite =
+			CompletableFuture.supplyAsync(() ->
+				commentService.getCommentsAttachedToPost(POST_ID, STAMP_AFTER_WRITE)
+			);
+		Set<CommentDTO> commentsAfterWrite = callerAfterWrite.get(
+			5,
+			TimeUnit.SECONDS
+		);
+		writeCommitted.countDown();
+		Set<CommentDTO> commentsBeforeWrite = callerBeforeWrite.get(
+			5,
+			TimeUnit.SECONDS
+		);
+		Set<CommentDTO> cachedCommentsAfterWrite =
+			commentService.getCommentsAttachedToPost(POST_ID, STAMP_AFTER_WRITE);
+
+		//then
+		verify(commentRepository, times(2))
+			.findAllByPostIdWithAuthorAndPost(POST_ID);
+		Assertions.assertAll(
+			() -> assertThat(commentsBeforeWrite).hasSize(1),
+			() -> assertThat(commentsAfterWrite).hasSize(2),
+			() -> assertThat(cachedCommentsAfterWrite).hasSize(2)
+		);
+	}
+
+	private static Comment makeComment(Long id) {
+		return Comment
+			.builder()
+			.id(id)
+			.content("Some comment")
+			.author(UserFactory.makeUser())
+			.post(PostFactory.makePost())
+			.build();
+	}
+}
@@ -0,0 +1,109 @@
+package project.eepw.softwaretestingcrud.domain.post.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.eepw.softwaretestingcrud.domain.comment.data.CommentService;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
+import project.eepw.softwaretestingcrud.domain.comment.entity.Comment;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+
+@SpringBootTest(
+	properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+)
+@AutoConfigureTestDatabase
+class CommentCountTest {
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private CommentCountReconciliationJob reconciliationJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private User user;
+	private PostDTO post;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		post =
+			postService.createPost(
+				PostCreationDTO.builder().content("Some content").build(),
+				user.getId()
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldMaintainCommentCountWhenCommentsAreAddedAndDeleted() {
+		//given
+		List<Comment> comments = IntStream
+			.range(0, 3)
+			.mapToObj(index -> saveComment("Comment " + index))
+			.toList();
+
+		//when
+		commentService.deleteCommentById(comments.get(0).getId());
+
+		//then
+		assertThat(postService.getPostDTOById(post.getId()).getCommentCount())
+			.isEqualTo(2L);
+	}
+
+	@Test
+	void shouldRepairCommentCountWhenItDriftedFromActualComments() {
+		//given
+		saveComment("First comment");
+		jdbcTemplate.update(
+			"update posts set comment_count = 42 where id = ?",
+			post.getId()
+		);
+
+		//when
+		reconciliationJob.reconcileCommentCounts();
+
+		//then
+		assertThat(postService.getPostDTOById(post.getId()).getCommentCount())
+			.isEqualTo(1L);
+	}
+
+	private Comment saveComment(String content) {
+		return commentService.saveNewCommentToPost(
+			CommentCreationDTO
+				.builder()
+				.userId(user.getId())
+				.postId(post.getId())
+				.content(content)
+				.build()
+		);
+	}
+}
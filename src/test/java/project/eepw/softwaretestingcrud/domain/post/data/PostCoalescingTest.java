@@ -0,0 +1,100 @@
+package project.eepw.softwaretestingcrud.domain.post.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import project.eepw.softwaretestingcrud.domain.factory.PostFactory;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostVersionDTO;
+import project.eepw.softwaretestingcrud.domain.post.entity.Post;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.infrastructure.concurrency.RequestCoalescer;
+
+class PostCoalescingTest {
+
+	private static final Long POST_ID = 1L;
+	private static final PostVersionDTO VERSION_BEFORE_WRITE =
+		new PostVersionDTO(0L, 0L);
+	private static final PostVersionDTO VERSION_AFTER_WRITE =
+		new PostVersionDTO(1L, 0L);
+
+	private final CountDownLatch firstLoadStarted = new CountDownLatch(1);
+	private final CountDownLatch writeCommitted = new CountDownLatch(1);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private PostRepository postRepository;
+	private PostService postService;
+
+	@BeforeEach
+	void setUp() {
+		postRepository = mock(PostRepository.class);
+		postService =
+			new PostService(
+				postRepository,
+				mock(UserService.class),
+				new RequestCoalescer(new SimpleMeterRegistry()),
+				mock(ApplicationEventPublisher.class)
+			);
+	}
+
+	@Test
+	void shouldNotShareLoadStartedBeforeWriteWithCallerThatSawTheWrite()
+		throws Exception {
+		//given
+		Post postBeforeWrite = makePost("Before write", 0L);
+		Post postAfterWrite = makePost("After write", 1L);
+		when(postRepository.findById(POST_ID))
+			.thenAnswer(invocation -> {
+				if (loads.getAndIncrement() == 0) {
+					firstLoadStarted.countDown();
+					writeCommitted.await(5, TimeUnit.SECONDS);
+					return Optional.of(postBeforeWrite);
+				}
+				return Optional.of(postAfterWrite);
+			});
+
+		//when
+		CompletableFuture<PostDTO> callerBeforeWrite =
+			CompletableFuture.supplyAsync(() ->
+				postService.getPostDTOById(POST_ID, VERSION_BEFORE_WRITE)
+			);
+		firstLoadStarted.await(5, TimeUnit.SECONDS);
+		CompletableFuture<PostDTO> callerAfterWrite =
+			CompletableFuture.supplyAsync(() ->
+				postService.getPostDTOById(POST_ID, VERSION_AFTER_WRITE)
+			);
+		PostDTO postDTOAfterWrite = callerAfterWrite.get(5, TimeUnit.SECONDS);
+		writeCommitted.countDown();
+		PostDTO postDTOBeforeWrite = callerBeforeWrite.get(5, TimeUnit.SECONDS);
+
+		//then
+		verify(postRepository, times(2)).findById(POST_ID);
+		Assertions.assertAll(
+			() -> assertThat(postDTOBeforeWrite.getVersion()).isZero(),
+			() -> assertThat(postDTOAfterWrite.getVersion()).isEqualTo(1L),
+			() -> assertThat(postDTOAfterWrite.getContent()).isEqualTo("After write")
+		);
+	}
+
+	private static Post makePost(String content, Long version) {
+		return PostFactory
+			.makePost()
+			.toBuilder()
+			.content(content)
+			.version(version)
+			.build();
+	}
+}
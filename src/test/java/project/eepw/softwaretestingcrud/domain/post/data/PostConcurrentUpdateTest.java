@@ -0,0 +1,132 @@
+package project.eepw.softwaretestingcrud.domain.post.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.exception.EntityVersionMismatchException;
+
+@SpringBootTest(
+	properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+)
+@AutoConfigureTestDatabase
+class PostConcurrentUpdateTest {
+
+	private static final int WRITERS = 8;
+	private static final int UPDATES_PER_WRITER = 25;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+	private PostDTO post;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		post =
+			postService.createPost(
+				PostCreationDTO.builder().content("0").build(),
+				user.getId()
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldNotLoseUpdatesWhenPostIsIncrementedConcurrently()
+		throws Exception {
+		//given
+		AtomicInteger conflicts = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+		//when
+		List<Future<Object>> writers = IntStream
+			.range(0, WRITERS)
+			.mapToObj(writer ->
+				executor.submit(() -> {
+					start.await();
+					for (int update = 0; update < UPDATES_PER_WRITER; update++) {
+						incrementWithRetry(conflicts);
+					}
+					return null;
+				})
+			)
+			.toList();
+		start.countDown();
+		for (Future<Object> writer : writers) {
+			writer.get(1, TimeUnit.MINUTES);
+		}
+		executor.shutdown();
+
+		//then
+		int expectedUpdates = WRITERS * UPDATES_PER_WRITER;
+		PostDTO updatedPost = postService.getPostDTOById(post.getId());
+
+		Assertions.assertAll(
+			() ->
+				assertThat(updatedPost.getContent())
+					.isEqualTo(String.valueOf(expectedUpdates)),
+			() ->
+				assertThat(updatedPost.getVersion())
+					.isEqualTo(post.getVersion() + expectedUpdates),
+			// every successful write can invalidate at most the other in-flight writers
+			() ->
+				assertThat(conflicts.get())
+					.isLessThanOrEqualTo((WRITERS - 1) * expectedUpdates)
+		);
+	}
+
+	private void incrementWithRetry(AtomicInteger conflicts) {
+		while (true) {
+			PostDTO currentPost = postService.getPostDTOById(post.getId());
+			PostDTO incrementedPost = currentPost
+				.toBuilder()
+				.content(String.valueOf(Integer.parseInt(currentPost.getContent()) + 1))
+				.build();
+
+			try {
+				postService.updatePost(
+					incrementedPost,
+					user.getId(),
+					currentPost.getVersion()
+				);
+				return;
+			} catch (
+				EntityVersionMismatchException | OptimisticLockingFailureException exception
+			) {
+				conflicts.incrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package project.eepw.softwaretestingcrud.domain.post.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostSearchHit;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class PostSearchTest {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+		"postgres:15-alpine"
+	);
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		Stream
+			.of(
+				"Testing spring applications with testcontainers",
+				"Spring boot makes testing easier, spring testing rocks",
+				"Cooking pasta at home"
+			)
+			.forEach(content ->
+				postService.createPost(
+					PostCreationDTO.builder().content(content).build(),
+					user.getId()
+				)
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldRankPostsByRelevanceAndHighlightMatchedTerms() {
+		//when
+		Page<PostSearchHit> hits = postService.searchPosts(
+			"spring testing",
+			PageRequest.of(0, 10)
+		);
+
+		//then
+		Assertions.assertAll(
+			() -> assertThat(hits.getTotalElements()).isEqualTo(2),
+			() ->
+				assertThat(hits.getContent().get(0).getContent())
+					.startsWith("Spring boot"),
+			() ->
+				assertThat(hits.getContent().get(0).getRank())
+					.isGreaterThan(hits.getContent().get(1).getRank()),
+			() ->
+				assertThat(hits.getContent().get(0).getHighlight())
+					.contains("<b>Spring</b>")
+		);
+	}
+
+	@Test
+	void shouldPageSearchResults() {
+		//when
+		Page<PostSearchHit> secondPage = postService.searchPosts(
+			"spring",
+			PageRequest.of(1, 1)
+		);
+
+		//then
+		Assertions.assertAll(
+			() -> assertThat(secondPage.getTotalElements()).isEqualTo(2),
+			() -> assertThat(secondPage.getContent()).hasSize(1)
+		);
+	}
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 import static project.eepw.softwaretestingcrud.domain.factory.PostFactory.makePost;
 import static project.eepw.softwaretestingcrud.domain.factory.UserFactory.makeUser;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -21,12 +22,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
 import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostVersionDTO;
 import project.eepw.softwaretestingcrud.domain.post.entity.Post;
 import project.eepw.softwaretestingcrud.domain.user.data.UserService;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.concurrency.RequestCoalescer;
+import project.eepw.softwaretestingcrud.infrastructure.exception.EntityVersionMismatchException;
 import project.eepw.softwaretestingcrud.infrastructure.exception.PostNotFoundException;
 import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundException;
 
@@ -39,6 +45,14 @@ class PostServiceTest {
 	@Mock
 	private UserService userService;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Spy
+	private RequestCoalescer requestCoalescer = new RequestCoalescer(
+		new SimpleMeterRegistry()
+	);
+
 	@InjectMocks
 	private PostService postService;
 
@@ -101,6 +115,41 @@ class PostServiceTest {
 			verify(postRepository, times(1)).findById(nullId);
 		}
 
+		@Test
+		void shouldReturnPostVersionWhenGivenExistingPostId() {
+			//given
+			Long postId = 1L;
+			PostVersionDTO expectedVersion = new PostVersionDTO(3L, 2L);
+
+			when(postRepository.findVersionById(postId))
+				.thenReturn(Optional.of(expectedVersion));
+
+			//when
+			PostVersionDTO version = postService.getPostVersion(postId);
+
+			//then
+			verify(postRepository, times(1)).findVersionById(postId);
+			verify(postRepository, times(0)).findById(any());
+			assertThat(version).isEqualTo(expectedVersion);
+		}
+
+		@Test
+		void shouldThrowExceptionWhenReadingVersionOfNonExistingPost() {
+			//given
+			Long nonExistingPostId = 2L;
+			when(postRepository.findVersionById(nonExistingPostId))
+				.thenReturn(Optional.empty());
+
+			//when
+			ThrowingCallable getPostVersionExecutable = () ->
+				postService.getPostVersion(nonExistingPostId);
+
+			//then
+			assertThatThrownBy(getPostVersionExecutable)
+				.isInstanceOf(PostNotFoundException.class)
+				.hasMessageContaining("Post has not been found!");
+		}
+
 		@Test
 		void shouldReturnAllPostsWhenGetAllPostsInvoked() {
 			//given
@@ -242,72 +291,102 @@ class PostServiceTest {
 			Post post = makePost();
 			PostDTO postDTO = makePostDTO();
 			Long userId = 1L;
-			User expectedUser = makeUser()
-				.toBuilder()
-				.posts(new HashSet<>(Set.of(post)))
-				.build();
 
-			when(userService.getUserById(userId)).thenReturn(expectedUser);
-			when(userService.updateUser(any()))
-				.thenAnswer(invocation -> invocation.getArgument(0));
+			when(postRepository.findById(postDTO.getId()))
+				.thenReturn(Optional.of(post));
+			when(postRepository.saveAndFlush(post)).thenReturn(post);
 
 			//when
-			PostDTO updatedPost = postService.updatePost(postDTO, userId);
+			PostDTO updatedPost = postService.updatePost(postDTO, userId, null);
 
 			//then
-			verify(userService, times(1)).getUserById(userId);
-			verify(userService, times(1)).updateUser(expectedUser);
+			verify(postRepository, times(1)).saveAndFlush(post);
+			verify(userService, times(0)).updateUser(any());
 			assertThat(updatedPost).usingRecursiveComparison().isEqualTo(postDTO);
 		}
 
+		@Test
+		void shouldUpdatePostWhenExpectedVersionMatchesStoredVersion() {
+			//given
+			Post post = makePost().toBuilder().version(2L).build();
+			PostDTO postDTO = makePostDTO();
+			Long userId = 1L;
+
+			when(postRepository.findById(postDTO.getId()))
+				.thenReturn(Optional.of(post));
+			when(postRepository.saveAndFlush(post)).thenReturn(post);
+
+			//when
+			PostDTO updatedPost = postService.updatePost(postDTO, userId, 2L);
+
+			//then
+			verify(postRepository, times(1)).saveAndFlush(post);
+			assertThat(updatedPost.getContent()).isEqualTo(postDTO.getContent());
+		}
+
+		@Test
+		void shouldThrowExceptionWhenExpectedVersionIsStale() {
+			//given
+			Post post = makePost().toBuilder().version(3L).build();
+			PostDTO postDTO = makePostDTO();
+			Long userId = 1L;
+
+			when(postRepository.findById(postDTO.getId()))
+				.thenReturn(Optional.of(post));
+
+			//when
+			ThrowingCallable postUpdateExecutable = () ->
+				postService.updatePost(postDTO, userId, 2L);
+
+			//then
+			assertThatThrownBy(postUpdateExecutable)
+				.isInstanceOf(EntityVersionMismatchException.class)
+				.hasMessage("Post with id=[1] has been modified in the meantime");
+			verify(postRepository, times(0)).saveAndFlush(any());
+		}
+
 		@Test
 		void shouldThrowExceptionWhenGivenPostDTOWithInvalidId() {
 			//given
-			Post post = makePost();
 			PostDTO postDTO = PostDTO
 				.builder()
 				.id(3L)
 				.content("Wrong id post content")
 				.build();
 			Long userId = 1L;
-			User expectedUser = makeUser()
-				.toBuilder()
-				.posts(new HashSet<>(Set.of(post)))
-				.build();
 
-			when(userService.getUserById(userId)).thenReturn(expectedUser);
+			when(postRepository.findById(postDTO.getId()))
+				.thenReturn(Optional.empty());
 
 			//when
 			ThrowingCallable postUpdateExecutable = () ->
-				postService.updatePost(postDTO, userId);
+				postService.updatePost(postDTO, userId, null);
 
 			//then
 			assertThatThrownBy(postUpdateExecutable)
 				.hasMessage("Post with id=[3] has not been found")
 				.isInstanceOf(PostNotFoundException.class);
-			verify(userService, times(1)).getUserById(userId);
-			verify(userService, times(0)).updateUser(expectedUser);
+			verify(postRepository, times(0)).saveAndFlush(any());
 		}
 
 		@Test
-		void shouldThrowExceptionWhenGivenNonExistingUserId() {
+		void shouldThrowExceptionWhenPostBelongsToAnotherUser() {
 			//given
 			Long userId = 2L;
 			PostDTO postDTO = makePostDTO();
 
-			when(userService.getUserById(userId))
-				.thenThrow(new UserNotFoundException("User has not been found"));
+			when(postRepository.findById(postDTO.getId()))
+				.thenReturn(Optional.of(makePost()));
 
 			//when
-			ThrowingCallable getAllUserPostsExecutable = () ->
-				postService.updatePost(postDTO, userId);
+			ThrowingCallable postUpdateExecutable = () ->
+				postService.updatePost(postDTO, userId, null);
 
 			//then
-			assertThatThrownBy(getAllUserPostsExecutable)
-				.isInstanceOf(UserNotFoundException.class)
-				.hasMessageContaining("User has not been found");
-			verify(userService, times(1)).getUserById(userId);
-			verify(userService, times(0)).updateUser(any());
+			assertThatThrownBy(postUpdateExecutable)
+				.isInstanceOf(PostNotFoundException.class)
+				.hasMessage("Post with id=[1] has not been found");
+			verify(postRepository, times(0)).saveAndFlush(any());
 		}
 
 		@Test
@@ -316,18 +395,17 @@ class PostServiceTest {
 			Long nullUserId = null;
 			PostDTO postDTO = makePostDTO();
 
-			when(userService.getUserById(nullUserId))
-				.thenThrow(IllegalArgumentException.class);
+			when(postRepository.findById(postDTO.getId()))
+				.thenReturn(Optional.of(makePost()));
 
 			//when
-			ThrowingCallable getAllUserPostsExecutable = () ->
-				postService.updatePost(postDTO, nullUserId);
+			ThrowingCallable postUpdateExecutable = () ->
+				postService.updatePost(postDTO, nullUserId, null);
 
 			//then
-			assertThatThrownBy(getAllUserPostsExecutable)
-				.isInstanceOf(IllegalArgumentException.class);
-			verify(userService, times(1)).getUserById(nullUserId);
-			verify(userService, times(0)).updateUser(any());
+			assertThatThrownBy(postUpdateExecutable)
+				.isInstanceOf(PostNotFoundException.class);
+			verify(postRepository, times(0)).saveAndFlush(any());
 		}
 	}
 
@@ -13,11 +13,18 @@ import java.util.Optional;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserSummaryDTO;
 import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.batch.BatchResultDTO;
 import project.eepw.softwaretestingcrud.infrastructure.exception.UserNotFoundException;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -25,6 +32,9 @@ class UserServiceTest {
 	@Mock
 	private UserRepository userRepository;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private UserService userService;
 
@@ -169,6 +179,71 @@ class UserServiceTest {
 		verify(userRepository, times(1)).findByEmail(nullEmail);
 	}
 
+	@Test
+	void shouldReturnUserSummaryWhenUserWithThatIdIsInDB() {
+		//given
+		UserSummaryDTO summary = new UserSummaryDTO(1L, 3L, 5L, 7L);
+		when(userRepository.findSummariesByIds(List.of(summary.userId())))
+			.thenReturn(List.of(summary));
+
+		//when
+		UserSummaryDTO fetchedSummary = userService.getUserSummary(
+			summary.userId()
+		);
+
+		//then
+		verify(userRepository, times(0)).findById(any());
+		assertThat(fetchedSummary).isEqualTo(summary);
+	}
+
+	@Test
+	void shouldThrowExceptionWhenSummaryOfNotExistingUserIsRequested() {
+		//given
+		Long notExistingUserId = 1L;
+		when(userRepository.findSummariesByIds(List.of(notExistingUserId)))
+			.thenReturn(Collections.emptyList());
+
+		//when
+		ThrowingCallable getUserSummaryExecutable = () ->
+			userService.getUserSummary(notExistingUserId);
+
+		//then
+		assertThatThrownBy(getUserSummaryExecutable)
+			.isInstanceOf(UserNotFoundException.class)
+			.hasMessageContaining("User has not been found");
+	}
+
+	@Test
+	void shouldNotQueryDBWhenNoUserIdsAreGivenForSummaries() {
+		//when
+		Collection<UserSummaryDTO> summaries = userService.getUserSummaries(
+			Collections.emptyList()
+		);
+
+		//then
+		verifyNoInteractions(userRepository);
+		assertThat(summaries).isEmpty();
+	}
+
+	@Test
+	void shouldReturnUsersInRequestedOrderAndReportMissingIdsWhenFetchingBatch() {
+		//given
+		User firstUser = makeUser();
+		User secondUser = makeUser().toBuilder().id(2L).build();
+		List<Long> requestedIds = List.of(2L, 7L, 1L, 2L);
+
+		when(userRepository.findAllWithPostsByIdIn(requestedIds))
+			.thenReturn(List.of(firstUser, secondUser));
+
+		//when
+		BatchResultDTO<User> batch = userService.getUsersByIds(requestedIds);
+
+		//then
+		verify(userRepository, times(0)).findById(any());
+		assertThat(batch.items()).containsExactly(secondUser, firstUser);
+		assertThat(batch.missingIds()).containsExactly(7L);
+	}
+
 	@Test
 	void shouldCreateNewUserWhenGivenUserHasAllRequiredData() {
 		//given
@@ -184,6 +259,30 @@ class UserServiceTest {
 		assertThat(createdUser).usingRecursiveComparison().isEqualTo(dbUser);
 	}
 
+	@Test
+	void shouldPublishUserChangedEventWhenUserIsCreated() {
+		//given
+		User user = makeUser().toBuilder().id(null).build();
+		User dbUser = user.toBuilder().id(5L).build();
+		when(userRepository.save(user)).thenReturn(dbUser);
+
+		//when
+		userService.createUser(user);
+
+		//then
+		ArgumentCaptor<EntityChangedEvent> eventCaptor = ArgumentCaptor.forClass(
+			EntityChangedEvent.class
+		);
+		verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+		assertThat(eventCaptor.getValue())
+			.extracting(
+				EntityChangedEvent::entityType,
+				EntityChangedEvent::changeType,
+				EntityChangedEvent::id
+			)
+			.containsExactly(EntityType.USER, ChangeType.CREATED, dbUser.getId());
+	}
+
 	@Test
 	void shouldThrowExceptionWhenGivenUserIsNull() {
 		//given
@@ -225,6 +324,25 @@ class UserServiceTest {
 		assertThat(updatedUser).usingRecursiveComparison().isEqualTo(toUpdate);
 	}
 
+	@Test
+	void shouldUseStoredVersionWhenUpdatedUserDoesNotCarryOne() {
+		//given
+		User toUpdate = makeUser().toBuilder().name("James").build();
+		Long userId = toUpdate.getId();
+		Long storedVersion = 4L;
+		when(userRepository.existsById(userId)).thenReturn(true);
+		when(userRepository.findVersionById(userId))
+			.thenReturn(Optional.of(storedVersion));
+		when(userRepository.save(toUpdate)).thenReturn(toUpdate);
+
+		//when
+		User updatedUser = userService.updateUser(toUpdate);
+
+		//then
+		verify(userRepository, times(1)).findVersionById(userId);
+		assertThat(updatedUser.getVersion()).isEqualTo(storedVersion);
+	}
+
 	@Test
 	void shouldThrowExceptionOnUpdateWhenGivenUserDoesNotExist() {
 		//given
@@ -0,0 +1,134 @@
+package project.eepw.softwaretestingcrud.infrastructure.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import project.eepw.softwaretestingcrud.infrastructure.exception.PostNotFoundException;
+
+class RequestCoalescerTest {
+
+	private static final int CALLERS = 16;
+
+	private MeterRegistry meterRegistry;
+	private RequestCoalescer requestCoalescer;
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		requestCoalescer = new RequestCoalescer(meterRegistry);
+		executor = Executors.newFixedThreadPool(CALLERS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void shouldRunLoaderOnceWhenSameKeyIsLoadedConcurrently() throws Exception {
+		//given
+		AtomicInteger loaderCalls = new AtomicInteger();
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+
+		//when
+		List<Future<String>> callers = IntStream
+			.range(0, CALLERS)
+			.mapToObj(caller ->
+				executor.submit(() ->
+					requestCoalescer.load(
+						"post",
+						1L,
+						() -> {
+							loaderCalls.incrementAndGet();
+							awaitUninterruptibly(releaseLoad);
+							return "post-1";
+						}
+					)
+				)
+			)
+			.toList();
+		awaitCoalescedRequests(CALLERS - 1);
+		releaseLoad.countDown();
+
+		//then
+		for (Future<String> caller : callers) {
+			assertThat(caller.get(10, TimeUnit.SECONDS)).isEqualTo("post-1");
+		}
+		Assertions.assertAll(
+			() -> assertThat(loaderCalls.get()).isEqualTo(1),
+			() -> assertThat(requestCount("loaded")).isEqualTo(1),
+			() -> assertThat(requestCount("coalesced")).isEqualTo(CALLERS - 1)
+		);
+	}
+
+	@Test
+	void shouldLoadAgainWhenPreviousLoadHasCompleted() {
+		//given
+		AtomicInteger loaderCalls = new AtomicInteger();
+
+		//when
+		requestCoalescer.load("post", 1L, loaderCalls::incrementAndGet);
+		requestCoalescer.load("post", 1L, loaderCalls::incrementAndGet);
+
+		//then
+		assertThat(loaderCalls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldPropagateLoaderExceptionToCaller() {
+		//when
+		ThrowingCallable loadExecutable = () ->
+			requestCoalescer.load(
+				"post",
+				1L,
+				() -> {
+					throw new PostNotFoundException("Post has not been found!");
+				}
+			);
+
+		//then
+		assertThatThrownBy(loadExecutable)
+			.isInstanceOf(PostNotFoundException.class)
+			.hasMessageContaining("Post has not been found!");
+	}
+
+	private double requestCount(String result) {
+		return meterRegistry
+			.counter("coalescer.requests", "name", "post", "result", result)
+			.count();
+	}
+
+	private void awaitCoalescedRequests(int expectedRequests)
+		throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (
+			requestCount("coalesced") < expectedRequests && System.nanoTime() < deadline
+		) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package project.eepw.softwaretestingcrud.infrastructure.dataimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.entity.Post;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+
+@SpringBootTest(
+	properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+)
+@AutoConfigureTestDatabase
+class DataImporterTest {
+
+	@Autowired
+	private DataImporter dataImporter;
+
+	@Autowired
+	private UserService userService;
+
+	@TempDir
+	private Path importDirectory;
+
+	private final List<Long> userIds = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		userIds.forEach(userService::deleteUserById);
+	}
+
+	@Test
+	void shouldImportRowsWithTranslatedReferencesAndIdsDrawnFromSequences()
+		throws Exception {
+		//given
+		User existingUser = userService.createUser(
+			UserFactory
+				.makeUser()
+				.toBuilder()
+				.id(null)
+				.email("existing@example.com")
+				.posts(new HashSet<>())
+				.build()
+		);
+		userIds.add(existingUser.getId());
+		Files.writeString(
+			importDirectory.resolve("users.csv"),
+			"""
+			id,name,surname,email,password,version
+			7,Jan,Kowalski,jan@import.pl,Password123!,0
+			"""
+		);
+		Files.writeString(
+			importDirectory.resolve("posts.ndjson"),
+			"""
+			{"id":3,"user_id":7,"content":"Imported post","comment_count":1,"version":0}
+			{"id":4,"user_id":99,"content":"Post of a missing user","comment_count":0,"version":0}
+			"""
+		);
+		Files.writeString(
+			importDirectory.resolve("comments.csv"),
+			"""
+			id,post_id,author_id,content,version
+			5,3,7,"Imported, ""quoted"" comment",0
+			"""
+		);
+
+		//when
+		Map<String, Long> importedRows = dataImporter.importAll(importDirectory);
+		User importedUser = userService.getUserByEmail("jan@import.pl");
+		userIds.add(importedUser.getId());
+		User createdUser = userService.createUser(
+			UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+		);
+		userIds.add(createdUser.getId());
+
+		//then
+		Assertions.assertAll(
+			() ->
+				assertThat(importedRows)
+					.containsExactly(
+						Map.entry("users", 1L),
+						Map.entry("posts", 1L),
+						Map.entry("comments", 1L)
+					),
+			() ->
+				assertThat(importedUser.getPosts())
+					.extracting(Post::getContent, Post::getCommentCount)
+					.containsExactly(tuple("Imported post", 1L)),
+			() ->
+				assertThat(importedUser.getId()).isGreaterThan(existingUser.getId()),
+			() ->
+				assertThat(createdUser.getId()).isGreaterThan(importedUser.getId())
+		);
+	}
+}
@@ -0,0 +1,107 @@
+package project.eepw.softwaretestingcrud.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Two independent containers stand in for a primary and its replica, the
+ * database name tells which one served a statement.
+ */
+@SpringBootTest(properties = "app.datasource.routing.enabled=true")
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingTest {
+
+	private static final String CURRENT_DATABASE = "select current_database()";
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(
+		"postgres:15-alpine"
+	)
+		.withDatabaseName("primary");
+
+	@Container
+	static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(
+		"postgres:15-alpine"
+	)
+		.withDatabaseName("replica");
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void replicaProperties(DynamicPropertyRegistry registry) {
+		registry.add("app.datasource.routing.replicas[0].url", replica::getJdbcUrl);
+		registry.add(
+			"app.datasource.routing.replicas[0].username",
+			replica::getUsername
+		);
+		registry.add(
+			"app.datasource.routing.replicas[0].password",
+			replica::getPassword
+		);
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReadYourWrites.unbind();
+	}
+
+	@Test
+	void shouldRouteReadOnlyTransactionToReplica() {
+		//when
+		String database = currentDatabase(true);
+
+		//then
+		assertThat(database).isEqualTo("replica");
+	}
+
+	@Test
+	void shouldRouteReadWriteTransactionToPrimary() {
+		//when
+		String database = currentDatabase(false);
+
+		//then
+		assertThat(database).isEqualTo("primary");
+	}
+
+	@Test
+	void shouldReadFromPrimaryWhenClientHasJustWritten() {
+		//given
+		ReadYourWrites.bind("client-that-writes");
+		currentDatabase(false);
+
+		//when
+		String database = currentDatabase(true);
+
+		//then
+		assertThat(database).isEqualTo("primary");
+	}
+
+	private String currentDatabase(boolean readOnly) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(
+			transactionManager
+		);
+		transactionTemplate.setReadOnly(readOnly);
+
+		return transactionTemplate.execute(status ->
+			jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class)
+		);
+	}
+}
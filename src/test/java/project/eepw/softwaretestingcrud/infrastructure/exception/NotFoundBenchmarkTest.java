@@ -0,0 +1,71 @@
+package project.eepw.softwaretestingcrud.infrastructure.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares how many misses per second can be thrown and caught at a stack
+ * depth typical for a request served through filters, interceptors and
+ * proxies, with and without stack trace capture. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+class NotFoundBenchmarkTest {
+
+	private static final int STACK_DEPTH = 150;
+	private static final int WARMUP_MISSES = 20_000;
+	private static final int MEASURED_MISSES = 200_000;
+
+	@Test
+	void shouldThrowMoreMissesPerSecondWithoutStackTraces() {
+		//given
+		Runnable stackfulMiss = () -> {
+			throw new IllegalStateException("Post has not been found!");
+		};
+		Runnable stacklessMiss = () -> {
+			throw new PostNotFoundException("Post has not been found!");
+		};
+
+		//when
+		long stackfulMissesPerSecond = measure(stackfulMiss);
+		long stacklessMissesPerSecond = measure(stacklessMiss);
+
+		//then
+		log.info(
+			"404 throughput: {} misses/s with stack traces, {} misses/s without",
+			stackfulMissesPerSecond,
+			stacklessMissesPerSecond
+		);
+		assertThat(stacklessMissesPerSecond).isGreaterThan(stackfulMissesPerSecond);
+	}
+
+	private long measure(Runnable miss) {
+		for (int attempt = 0; attempt < WARMUP_MISSES; attempt++) {
+			missAtDepth(miss, STACK_DEPTH);
+		}
+
+		long start = System.nanoTime();
+		for (int attempt = 0; attempt < MEASURED_MISSES; attempt++) {
+			missAtDepth(miss, STACK_DEPTH);
+		}
+
+		return MEASURED_MISSES * 1_000_000_000L / (System.nanoTime() - start);
+	}
+
+	private int missAtDepth(Runnable miss, int depth) {
+		if (depth > 0) {
+			return missAtDepth(miss, depth - 1) + 1;
+		}
+
+		try {
+			miss.run();
+			return 0;
+		} catch (RuntimeException exception) {
+			return exception.getMessage().length();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package project.eepw.softwaretestingcrud.infrastructure.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.domain.comment.data.CommentService;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentCreationDTO;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.post.data.PostService;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostCreationDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+
+@SpringBootTest(
+	properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+)
+@AutoConfigureTestDatabase
+class DataExporterTest {
+
+	@Autowired
+	private DataExporter dataExporter;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private CommentService commentService;
+
+	@TempDir
+	private Path exportDirectory;
+
+	private User user;
+	private PostDTO post;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		post =
+			postService.createPost(
+				PostCreationDTO.builder().content("Lorem ipsum").build(),
+				user.getId()
+			);
+		commentService.saveNewCommentToPost(
+			CommentCreationDTO
+				.builder()
+				.userId(user.getId())
+				.postId(post.getId())
+				.content("Lorem \"quoted\",\nmultiline")
+				.build()
+		);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldWriteEveryTableAsNdjsonLines() throws Exception {
+		//given
+		//when
+		Map<String, Long> exportedRows = dataExporter.exportAll(exportDirectory);
+
+		//then
+		List<String> users = Files.readAllLines(
+			exportDirectory.resolve("users.ndjson")
+		);
+		List<String> posts = Files.readAllLines(
+			exportDirectory.resolve("posts.ndjson")
+		);
+		List<String> comments = Files.readAllLines(
+			exportDirectory.resolve("comments.ndjson")
+		);
+
+		Assertions.assertAll(
+			() ->
+				assertThat(exportedRows)
+					.containsExactly(
+						Map.entry("users", 1L),
+						Map.entry("posts", 1L),
+						Map.entry("comments", 1L)
+					),
+			() ->
+				assertThat(users)
+					.singleElement()
+					.asString()
+					.contains("\"email\":\"" + user.getEmail() + '"')
+					.doesNotContain("password", user.getPassword()),
+			() ->
+				assertThat(posts)
+					.singleElement()
+					.asString()
+					.startsWith(
+						String.format(
+							"{\"id\":%d,\"user_id\":%d,\"content\":\"Lorem ipsum\",\"comment_count\":1,",
+							post.getId(),
+							user.getId()
+						)
+					),
+			() ->
+				assertThat(comments)
+					.singleElement()
+					.asString()
+					.contains("\"content\":\"Lorem \\\"quoted\\\",\\nmultiline\"")
+		);
+	}
+}
@@ -0,0 +1,41 @@
+package project.eepw.softwaretestingcrud.infrastructure.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class PreferencesTest {
+
+	@ParameterizedTest
+	@MethodSource("makePreferHeaders")
+	void shouldFindRespondAsyncAmongOtherPreferences(
+		List<String> preferHeaders,
+		boolean expected
+	) {
+		//given
+		//when
+		boolean respondAsync = Preferences.contains(
+			preferHeaders,
+			Preferences.RESPOND_ASYNC
+		);
+
+		//then
+		assertThat(respondAsync).isEqualTo(expected);
+	}
+
+	private static Stream<Arguments> makePreferHeaders() {
+		return Stream.of(
+			Arguments.of(List.of("respond-async"), true),
+			Arguments.of(List.of("respond-async, wait=5"), true),
+			Arguments.of(List.of("wait=5", " Respond-Async "), true),
+			Arguments.of(List.of("return=minimal; respond-async"), false),
+			Arguments.of(List.of("handling=lenient"), false),
+			Arguments.of(List.of(), false),
+			Arguments.of(null, false)
+		);
+	}
+}
@@ -0,0 +1,88 @@
+package project.eepw.softwaretestingcrud.infrastructure.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.ChangeType;
+import project.eepw.softwaretestingcrud.infrastructure.invalidation.EntityChangedEvent.EntityType;
+
+@SpringBootTest(
+	properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"app.outbox.relay.initial-delay=PT1H"
+	}
+)
+@AutoConfigureTestDatabase
+@RecordApplicationEvents
+class OutboxRelayTest {
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private ApplicationEvents applicationEvents;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldRelayEventsOfUserWritesOnceAndInOrder() {
+		//given
+		userService.updateUser(user.toBuilder().name("Changed").build());
+
+		//when
+		outboxRelay.relay();
+		outboxRelay.relay();
+
+		//then
+		List<OutboxMessage> userMessages = applicationEvents
+			.stream(OutboxMessage.class)
+			.filter(message -> message.event().entityType() == EntityType.USER)
+			.filter(message -> message.event().id().equals(user.getId()))
+			.toList();
+
+		Assertions.assertAll(
+			() ->
+				assertThat(userMessages)
+					.extracting(message -> message.event().changeType())
+					.containsExactly(ChangeType.CREATED, ChangeType.UPDATED),
+			() ->
+				assertThat(userMessages.get(0).sequence())
+					.isLessThan(userMessages.get(1).sequence()),
+			() ->
+				assertThat(outboxEventRepository.findAll())
+					.allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull())
+		);
+	}
+}
@@ -0,0 +1,69 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.persistence.HibernateStatisticsEndpoint.HibernateStatisticsDTO;
+
+@SpringBootTest(
+	properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+	}
+)
+@AutoConfigureTestDatabase
+class HibernateStatisticsEndpointTest {
+
+	@Autowired
+	private HibernateStatisticsEndpoint hibernateStatisticsEndpoint;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		hibernateStatisticsEndpoint.reset();
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldReportQueriesAndEntityLoadsWhenUsersAreRead() {
+		//given
+		userService.getCredentialsByEmail(user.getEmail());
+		userService.getUserById(user.getId());
+
+		//when
+		HibernateStatisticsDTO statistics =
+			hibernateStatisticsEndpoint.statistics();
+
+		//then
+		Assertions.assertAll(
+			() -> assertThat(statistics.enabled()).isTrue(),
+			() -> assertThat(statistics.queryExecutionCount()).isPositive(),
+			() -> assertThat(statistics.slowestQueries()).isNotEmpty(),
+			() ->
+				assertThat(statistics.entityLoads())
+					.containsKey(User.class.getName())
+		);
+	}
+}
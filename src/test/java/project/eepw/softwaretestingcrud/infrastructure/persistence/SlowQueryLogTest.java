@@ -0,0 +1,90 @@
+package project.eepw.softwaretestingcrud.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.domain.factory.UserFactory;
+import project.eepw.softwaretestingcrud.domain.user.data.UserService;
+import project.eepw.softwaretestingcrud.domain.user.entity.User;
+import project.eepw.softwaretestingcrud.infrastructure.persistence.SlowQueryLog.SlowInvocationDTO;
+import project.eepw.softwaretestingcrud.infrastructure.persistence.SlowQueryLog.SlowQueryReportDTO;
+
+@SpringBootTest(
+	properties = {
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"app.persistence.slow-query.threshold=PT0S",
+		"app.outbox.relay.initial-delay=PT1H",
+		"app.posts.comment-count-reconciliation.initial-delay=PT1H"
+	}
+)
+@AutoConfigureTestDatabase
+class SlowQueryLogTest {
+
+	private static final String REPOSITORY_METHOD =
+		"UserRepository.findCredentialsByEmail";
+
+	@Autowired
+	private SlowQueryEndpoint slowQueryEndpoint;
+
+	@Autowired
+	private UserService userService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user =
+			userService.createUser(
+				UserFactory.makeUser().toBuilder().id(null).posts(new HashSet<>()).build()
+			);
+		slowQueryEndpoint.reset();
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUserById(user.getId());
+	}
+
+	@Test
+	void shouldAttributeSqlOfRepositoryCallToItsServiceMethod() {
+		//given
+		userService.getCredentialsByEmail(user.getEmail());
+
+		//when
+		SlowQueryReportDTO report = slowQueryEndpoint.report();
+
+		//then
+		List<SlowInvocationDTO> invocations = report
+			.slowestInvocations()
+			.stream()
+			.filter(slow -> slow.repositoryMethod().equals(REPOSITORY_METHOD))
+			.toList();
+		SlowInvocationDTO invocation = invocations.get(0);
+
+		Assertions.assertAll(
+			() -> assertThat(invocations).hasSize(1),
+			() ->
+				assertThat(invocation.callingMethod())
+					.isEqualTo("UserService.getCredentialsByEmail"),
+			() -> assertThat(invocation.statementCount()).isEqualTo(1),
+			() -> assertThat(invocation.bindParameterCount()).isEqualTo(1),
+			() -> assertThat(invocation.rowCount()).isEqualTo(1),
+			() -> assertThat(invocation.statements().get(0)).contains("users"),
+			() ->
+				assertThat(report.repositoryMethods())
+					.filteredOn(totals ->
+						totals.repositoryMethod().equals(REPOSITORY_METHOD)
+					)
+					.extracting(SlowQueryLog.MethodTotalsDTO::invocations)
+					.containsExactly(1L)
+		);
+	}
+}
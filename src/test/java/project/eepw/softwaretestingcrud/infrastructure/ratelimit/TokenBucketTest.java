@@ -0,0 +1,80 @@
+package project.eepw.softwaretestingcrud.infrastructure.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private static final long NOW = 1_000_000_000L;
+	private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void shouldAdmitWholeBurstAndRejectNextRequestWithRetryHint() {
+		//given
+		TokenBucket tokenBucket = new TokenBucket(10, Duration.ofSeconds(1), NOW);
+		IntStream.range(0, 10).forEach(request -> tokenBucket.tryAcquire(NOW));
+
+		//when
+		long waitNanos = tokenBucket.tryAcquire(NOW);
+
+		//then
+		assertThat(waitNanos).isEqualTo(ONE_SECOND / 10);
+	}
+
+	@Test
+	void shouldAdmitRequestAgainWhenEmissionIntervalPassed() {
+		//given
+		TokenBucket tokenBucket = new TokenBucket(10, Duration.ofSeconds(1), NOW);
+		IntStream.range(0, 11).forEach(request -> tokenBucket.tryAcquire(NOW));
+
+		//when
+		long waitNanos = tokenBucket.tryAcquire(NOW + ONE_SECOND / 10);
+
+		//then
+		assertThat(waitNanos).isZero();
+	}
+
+	@Test
+	void shouldAdmitExactlyLimitWhenRequestsRace() throws Exception {
+		//given
+		int callers = 8;
+		TokenBucket tokenBucket = new TokenBucket(100, Duration.ofHours(1), NOW);
+		AtomicInteger admitted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+		//when
+		List<Future<Object>> futures = IntStream
+			.range(0, callers)
+			.mapToObj(caller ->
+				executor.submit(() -> {
+					start.await();
+					for (int request = 0; request < 50; request++) {
+						if (tokenBucket.tryAcquire(NOW) == 0) {
+							admitted.incrementAndGet();
+						}
+					}
+					return null;
+				})
+			)
+			.toList();
+		start.countDown();
+		for (Future<Object> future : futures) {
+			future.get(1, TimeUnit.MINUTES);
+		}
+		executor.shutdown();
+
+		//then
+		assertThat(admitted.get()).isEqualTo(100);
+	}
+}
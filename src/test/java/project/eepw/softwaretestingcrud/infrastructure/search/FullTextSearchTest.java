@@ -0,0 +1,36 @@
+package project.eepw.softwaretestingcrud.infrastructure.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.eepw.softwaretestingcrud.infrastructure.exception.FullTextSearchNotSupportedException;
+
+@SpringBootTest(
+	properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+)
+@AutoConfigureTestDatabase
+class FullTextSearchTest {
+
+	@Autowired
+	private FullTextSearch fullTextSearch;
+
+	@Test
+	void shouldRejectSearchWhenDatabaseIsNotPostgres() {
+		//when
+		boolean supported = fullTextSearch.isSupported();
+
+		//then
+		Assertions.assertAll(
+			() -> assertThat(supported).isFalse(),
+			() ->
+				assertThatThrownBy(fullTextSearch::checkSupported)
+					.isInstanceOf(FullTextSearchNotSupportedException.class)
+					.hasMessageContaining("H2")
+		);
+	}
+}
@@ -0,0 +1,113 @@
+package project.eepw.softwaretestingcrud.infrastructure.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import project.eepw.softwaretestingcrud.domain.comment.dto.CommentDTO;
+import project.eepw.softwaretestingcrud.domain.post.dto.PostDTO;
+import project.eepw.softwaretestingcrud.domain.user.dto.UserDTO;
+
+/**
+ * Compares payload size and encode/decode time of a large comment listing
+ * across the negotiated wire formats. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+class WireFormatBenchmarkTest {
+
+	private static final int COMMENTS = 10_000;
+	private static final int WARMUP_ROUNDS = 20;
+	private static final int MEASURED_ROUNDS = 50;
+
+	@Test
+	void shouldEncodeCommentListingMoreCompactlyInBinaryFormats()
+		throws Exception {
+		//given
+		CommentDTO[] comments = sampleComments();
+		Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+		mappers.put("json", new ObjectMapper());
+		mappers.put("cbor", new CBORMapper());
+		mappers.put("smile", new SmileMapper());
+		mappers.values().forEach(mapper -> mapper.registerModule(new BlackbirdModule()));
+
+		//when
+		Map<String, Integer> payloadSizes = new LinkedHashMap<>();
+		for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+			ObjectMapper mapper = format.getValue();
+			byte[] payload = mapper.writeValueAsBytes(comments);
+
+			for (int round = 0; round < WARMUP_ROUNDS; round++) {
+				mapper.readValue(mapper.writeValueAsBytes(comments), CommentDTO[].class);
+			}
+
+			long encodeNanos = 0;
+			long decodeNanos = 0;
+			for (int round = 0; round < MEASURED_ROUNDS; round++) {
+				long start = System.nanoTime();
+				payload = mapper.writeValueAsBytes(comments);
+				encodeNanos += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				mapper.readValue(payload, CommentDTO[].class);
+				decodeNanos += System.nanoTime() - start;
+			}
+
+			payloadSizes.put(format.getKey(), payload.length);
+			log.info(
+				"{}: {} bytes, encode {} us, decode {} us",
+				format.getKey(),
+				payload.length,
+				encodeNanos / MEASURED_ROUNDS / 1_000,
+				decodeNanos / MEASURED_ROUNDS / 1_000
+			);
+		}
+
+		//then
+		assertThat(payloadSizes.get("cbor")).isLessThan(payloadSizes.get("json"));
+		assertThat(payloadSizes.get("smile")).isLessThan(payloadSizes.get("json"));
+	}
+
+	private CommentDTO[] sampleComments() {
+		List<UserDTO> users = LongStream
+			.rangeClosed(1, 100)
+			.mapToObj(id ->
+				UserDTO
+					.builder()
+					.id(id)
+					.name("Name" + id)
+					.surname("Surname" + id)
+					.email("user" + id + "@example.com")
+					.build()
+			)
+			.toList();
+
+		return LongStream
+			.rangeClosed(1, COMMENTS)
+			.mapToObj(id ->
+				CommentDTO
+					.builder()
+					.userDTO(users.get((int) (id % users.size())))
+					.postDTO(
+						PostDTO
+							.builder()
+							.id(id / 10)
+							.content("Some random post content " + id / 10)
+							.version(0L)
+							.build()
+					)
+					.content("Some random comment content " + id)
+					.build()
+			)
+			.toArray(CommentDTO[]::new);
+	}
+}